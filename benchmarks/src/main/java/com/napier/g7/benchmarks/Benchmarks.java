@@ -0,0 +1,37 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler switched on, so every result
+ * comes with its allocation rate and bytes allocated per operation.
+ * Takes the same arguments as JMH's own main class, for example
+ * {@code java -jar target/benchmarks.jar Snapshot -p scale=1}.
+ */
+public class Benchmarks {
+
+    /**
+     * Runs the benchmarks selected by the arguments.
+     *
+     * @param args JMH command-line options.
+     * @throws RunnerException            If a benchmark fails.
+     * @throws CommandLineOptionException If the options are invalid.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
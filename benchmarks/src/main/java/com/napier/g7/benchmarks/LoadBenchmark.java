@@ -0,0 +1,66 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7.benchmarks;
+
+import com.napier.g7.WorldSnapshot;
+import com.napier.g7.WorldSqlParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading db/test_db/world.sql with {@link WorldSqlParser}, from
+ * memory so that disk speed does not count, with and without building the
+ * snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark {
+
+    // The whole dump.
+    private String dump;
+
+    /**
+     * Reads the dump into memory.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String path = System.getProperty("world.sql", Files.exists(Paths.get("db/test_db/world.sql"))
+                ? "db/test_db/world.sql" : "../db/test_db/world.sql");
+        dump = Files.readString(Paths.get(path), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public WorldSqlParser parse() throws IOException {
+        WorldSqlParser parser = new WorldSqlParser();
+        parser.parse(new StringReader(dump));
+        return parser;
+    }
+
+    @Benchmark
+    public WorldSnapshot parseAndBuildSnapshot() throws IOException {
+        return parse().toSnapshot();
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7.benchmarks;
+
+import com.napier.g7.City;
+import com.napier.g7.CityMapper;
+import com.napier.g7.Country;
+import com.napier.g7.CountryLanguage;
+import com.napier.g7.CountryLanguageMapper;
+import com.napier.g7.CountryMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping result set rows to Country, City and CountryLanguage
+ * objects. The rows come from an in-memory H2 database filled with the
+ * world dataset, so the figures include H2's own cost of producing the rows;
+ * compare them between versions of the mappers rather than with MySQL.
+ * <p>
+ * The ByName benchmarks map the same rows the way App did before the
+ * mappers, looking every column up by name and setting it on a new bean,
+ * as the baseline the mapper figures are compared with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class MappingBenchmark {
+
+    // The country query of the snapshot loader.
+    private static final String COUNTRIES =
+            "SELECT code, name, continent, region, surfaceArea, indepYear, " +
+                    "population, lifeExpectancy, gnp, gnpOld, localName, " +
+                    "governmentForm, headOfState, capital " +
+                    "FROM country";
+
+    // The city query of the snapshot loader.
+    private static final String CITIES = "SELECT ID, Name, CountryCode, District, Population FROM city";
+
+    // The city query of App, joined to country.
+    private static final String JOINED_CITIES =
+            "SELECT city.ID, city.Name AS cityName, country.Name AS countryName, city.District, city.Population " +
+                    "FROM city " +
+                    "JOIN country ON city.CountryCode = country.Code " +
+                    "ORDER BY city.Population DESC";
+
+    // The countrylanguage query of the snapshot loader.
+    private static final String LANGUAGES = "SELECT CountryCode, Language, IsOfficial, Percentage FROM countrylanguage";
+
+    // Copies of every row; 1000 needs more memory than H2 in memory can spare here.
+    @Param({"1", "100"})
+    public int scale;
+
+    // Connection to the in-memory database.
+    private Connection con;
+
+    /**
+     * Fills an in-memory database with the dataset.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        con = DriverManager.getConnection("jdbc:h2:mem:mapping" + scale + ";DB_CLOSE_DELAY=-1");
+        WorldData.get(scale).createTables(con);
+    }
+
+    /**
+     * Drops the in-memory database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement stmt = con.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        con.close();
+    }
+
+    @Benchmark
+    public ArrayList<Country> countries() throws SQLException {
+        try (Statement stmt = con.createStatement();
+             ResultSet rset = stmt.executeQuery(COUNTRIES)) {
+            return CountryMapper.INSTANCE.mapAll(rset);
+        }
+    }
+
+    @Benchmark
+    public ArrayList<Country> countriesByName() throws SQLException {
+        try (Statement stmt = con.createStatement();
+             ResultSet rset = stmt.executeQuery(COUNTRIES)) {
+            ArrayList<Country> countries = new ArrayList<>();
+            while (rset.next()) {
+                Country country = new Country();
+                country.setCode(rset.getString("code"));
+                country.setName(rset.getString("name"));
+                country.setContinent(rset.getString("continent"));
+                country.setRegion(rset.getString("region"));
+                country.setSurfaceArea(rset.getFloat("surfaceArea"));
+                country.setIndepYear(rset.getInt("indepYear"));
+                country.setPopulation(rset.getInt("population"));
+                country.setLifeExpectancy(rset.getFloat("lifeExpectancy"));
+                country.setGnp(rset.getFloat("gnp"));
+                country.setGnpOld(rset.getFloat("gnpOld"));
+                country.setLocalName(rset.getString("localName"));
+                country.setGovernmentForm(rset.getString("governmentForm"));
+                country.setHeadOfState(rset.getString("headOfState"));
+                country.setCapital(rset.getInt("capital"));
+                countries.add(country);
+            }
+            return countries;
+        }
+    }
+
+    @Benchmark
+    public ArrayList<City> cities() throws SQLException {
+        try (Statement stmt = con.createStatement();
+             ResultSet rset = stmt.executeQuery(CITIES)) {
+            return CityMapper.TABLE.mapAll(rset);
+        }
+    }
+
+    @Benchmark
+    public ArrayList<City> joinedCities() throws SQLException {
+        try (Statement stmt = con.createStatement();
+             ResultSet rset = stmt.executeQuery(JOINED_CITIES)) {
+            return CityMapper.JOINED.mapAll(rset);
+        }
+    }
+
+    @Benchmark
+    public ArrayList<City> joinedCitiesByName() throws SQLException {
+        try (Statement stmt = con.createStatement();
+             ResultSet rset = stmt.executeQuery(JOINED_CITIES)) {
+            ArrayList<City> cities = new ArrayList<>();
+            while (rset.next()) {
+                City city = new City();
+                city.setId(rset.getInt("ID"));
+                city.setName(rset.getString("cityName"));
+                city.setCountryCode(rset.getString("countryName"));
+                city.setDistrict(rset.getString("District"));
+                city.setPopulation(rset.getInt("Population"));
+                cities.add(city);
+            }
+            return cities;
+        }
+    }
+
+    @Benchmark
+    public ArrayList<CountryLanguage> languages() throws SQLException {
+        try (Statement stmt = con.createStatement();
+             ResultSet rset = stmt.executeQuery(LANGUAGES)) {
+            return CountryLanguageMapper.INSTANCE.mapAll(rset);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7.benchmarks;
+
+import com.napier.g7.City;
+import com.napier.g7.CityTable;
+import com.napier.g7.CompactWorld;
+import com.napier.g7.Country;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the heap taken by the country and city tables as {@link Country}
+ * and {@link City} rows, the way App reads them, with the same tables as a
+ * {@link CompactWorld} and the cities as a {@link CityTable}, and prints a
+ * class histogram of what each adds to the heap.
+ * <p>
+ * Rows read over JDBC each get their own copy of every string, so the rows
+ * are built with copied strings too; getAllCities puts the country name in
+ * place of the country code, so the row cities hold a copy of it.
+ * Run with {@code java -cp target/benchmarks.jar com.napier.g7.benchmarks.ModelFootprint 100},
+ * where the argument is the scale factor of {@link WorldData}.
+ */
+public class ModelFootprint {
+
+    // Number of histogram lines printed for each model.
+    private static final int HISTOGRAM_LINES = 12;
+
+    /**
+     * Builds both models at the given scale and prints their sizes.
+     *
+     * @param args The scale factor; 100 if none is given.
+     * @throws Exception If the class histogram cannot be taken.
+     */
+    public static void main(String[] args) throws Exception {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        WorldData data = WorldData.get(scale);
+        long base = usedHeap();
+        Map<String, long[]> baseHistogram = histogram();
+
+        // Country and City rows as App holds them
+        List<Country> countries = copyCountries(data.getCountries());
+        List<City> cities = joinedCities(data.getCountries(), data.getCities());
+        long rows = usedHeap() - base;
+        System.out.println("Country and City rows: " + countries.size() + " countries, " + cities.size()
+                + " cities, " + rows / 1024 + " KB");
+        printHistogram(baseHistogram);
+        countries = null;
+        cities = null;
+
+        // The same tables encoded, from freshly read rows that are dropped afterwards
+        CompactWorld world = new CompactWorld(copyCountries(data.getCountries()), tableCities(data.getCities()));
+        long compact = usedHeap() - base;
+        System.out.println("Compact world: " + world.getCountries().size() + " countries, "
+                + world.getCities().size() + " cities, " + world.getDistricts().size() + " districts, "
+                + compact / 1024 + " KB");
+        printHistogram(baseHistogram);
+
+        world = null;
+
+        // The cities in columns, names and districts outside the heap
+        CityTable table = CityTable.of(data.getCountries(), tableCities(data.getCities()));
+        long columns = usedHeap() - base;
+        System.out.println("City table: " + table.size() + " cities, " + columns / 1024 + " KB on the heap, "
+                + table.getArenaBytes() / 1024 + " KB outside it");
+        printHistogram(baseHistogram);
+
+        System.out.printf("Compact world takes %.1f%% of the heap of the rows%n", 100.0 * compact / rows);
+        System.out.printf("City table takes %.1f%% of the heap of the rows, %.1f%% with its arena%n",
+                100.0 * columns / rows, 100.0 * (columns + table.getArenaBytes()) / rows);
+    }
+
+    /**
+     * Copies countries with every string copied, as JDBC returns them.
+     */
+    private static List<Country> copyCountries(List<Country> source) {
+        List<Country> copies = new ArrayList<>(source.size());
+        for (Country country : source) {
+            Country copy = new Country();
+            copy.setCode(copy(country.getCode()));
+            copy.setName(copy(country.getName()));
+            copy.setContinent(copy(country.getContinent()));
+            copy.setRegion(copy(country.getRegion()));
+            copy.setSurfaceArea(country.getSurfaceArea());
+            copy.setIndepYear(country.getIndepYear());
+            copy.setPopulation(country.getPopulation());
+            copy.setLifeExpectancy(country.getLifeExpectancy());
+            copy.setGnp(country.getGnp());
+            copy.setGnpOld(country.getGnpOld());
+            copy.setLocalName(copy(country.getLocalName()));
+            copy.setGovernmentForm(copy(country.getGovernmentForm()));
+            copy.setHeadOfState(copy(country.getHeadOfState()));
+            copy.setCapital(country.getCapital());
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    /**
+     * Copies cities as getAllCities returns them, with a copy of the
+     * country name in place of the country code.
+     */
+    private static List<City> joinedCities(List<Country> countries, List<City> source) {
+        Map<String, String> names = new HashMap<>();
+        for (Country country : countries) {
+            names.put(country.getCode(), country.getName());
+        }
+        List<City> copies = new ArrayList<>(source.size());
+        for (City city : source) {
+            City copy = copyCity(city);
+            copy.setCountryCode(copy(names.get(city.getCountryCode())));
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    /**
+     * Copies cities as the snapshot loader reads them, with their country code.
+     */
+    private static List<City> tableCities(List<City> source) {
+        List<City> copies = new ArrayList<>(source.size());
+        for (City city : source) {
+            copies.add(copyCity(city));
+        }
+        return copies;
+    }
+
+    /**
+     * Copies a city with every string copied.
+     */
+    private static City copyCity(City city) {
+        City copy = new City();
+        copy.setId(city.getId());
+        copy.setName(copy(city.getName()));
+        copy.setCountryCode(copy(city.getCountryCode()));
+        copy.setDistrict(copy(city.getDistrict()));
+        copy.setPopulation(city.getPopulation());
+        return copy;
+    }
+
+    /**
+     * Copies a string so it does not share its characters with the original.
+     */
+    private static String copy(String s) {
+        return s == null ? null : new String(s.toCharArray());
+    }
+
+    /**
+     * Get the heap in use after a full collection.
+     */
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Prints the classes whose instances take the most more heap than in
+     * the given histogram.
+     */
+    private static void printHistogram(Map<String, long[]> base) throws Exception {
+        List<Map.Entry<String, long[]>> added = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : histogram().entrySet()) {
+            long[] before = base.getOrDefault(entry.getKey(), new long[2]);
+            long[] delta = {entry.getValue()[0] - before[0], entry.getValue()[1] - before[1]};
+            added.add(Map.entry(entry.getKey(), delta));
+        }
+        added.sort((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]));
+
+        System.out.println(String.format("%14s %14s  %s", "#instances", "#bytes", "class name"));
+        for (int i = 0; i < Math.min(added.size(), HISTOGRAM_LINES); i++) {
+            Map.Entry<String, long[]> entry = added.get(i);
+            System.out.println(String.format("%14d %14d  %s", entry.getValue()[0], entry.getValue()[1], entry.getKey()));
+        }
+        System.out.println();
+    }
+
+    /**
+     * Takes a class histogram of the live heap: instances and bytes by class name.
+     */
+    private static Map<String, long[]> histogram() throws Exception {
+        String histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"), "gcClassHistogram",
+                new Object[]{null}, new String[]{String[].class.getName()});
+        Map<String, long[]> classes = new HashMap<>();
+        for (String line : histogram.split("\n")) {
+            // Lines look like "   1:    1965645    54895920  [B (java.base@21)"
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length >= 4 && fields[0].endsWith(":")) {
+                classes.put(fields[3], new long[]{Long.parseLong(fields[1]), Long.parseLong(fields[2])});
+            }
+        }
+        return classes;
+    }
+}
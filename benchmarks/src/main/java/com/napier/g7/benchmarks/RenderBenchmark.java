@@ -0,0 +1,123 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7.benchmarks;
+
+import com.napier.g7.App;
+import com.napier.g7.City;
+import com.napier.g7.Country;
+import com.napier.g7.WorldSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures App.printCountries and App.printCities, with System.out sent
+ * to a stream that discards everything, so only formatting and encoding
+ * are timed.
+ * <p>
+ * The Formatted benchmarks print the same rows to the same stream the way
+ * App did before TableRenderer: a NumberFormat, a String.format and a
+ * println per row. They are the baseline the renderer is compared with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms3g", "-Xmx3g"})
+public class RenderBenchmark {
+
+    // Copies of every row.
+    @Param({"1", "100", "1000"})
+    public int scale;
+
+    // The application printing the tables.
+    private final App app = new App();
+
+    // Every country, most populated first.
+    private ArrayList<Country> countries;
+
+    // Every city with its country name, most populated first.
+    private ArrayList<City> cities;
+
+    // System.out before the benchmark replaced it.
+    private PrintStream console;
+
+    /**
+     * Builds the rows and silences System.out.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        WorldData data = WorldData.get(scale);
+        WorldSnapshot snapshot = new WorldSnapshot(data.getCountries(), data.getCities());
+        countries = new ArrayList<>(snapshot.getCountries());
+        cities = new ArrayList<>(snapshot.getCityRows());
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Puts System.out back.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public void printCountries() {
+        app.printCountries(countries);
+    }
+
+    @Benchmark
+    public void printCities() {
+        app.printCities(cities);
+    }
+
+    @Benchmark
+    public void printCountriesFormatted() {
+        System.out.println(String.format("%-5s %-50s %-15s %-40s %-15s %-10s",
+                "Code", "Name", "Continent", "Region", "Population", "Capital"));
+        for (Country country : countries) {
+            NumberFormat numberFormat = NumberFormat.getNumberInstance(Locale.US);
+            String formattedPopulation = numberFormat.format(country.getPopulation());
+            String countryString = String.format("%-5s %-50s %-15s %-40s %-15s %-10s",
+                    country.getCode(), country.getName(), country.getContinent(),
+                    country.getRegion(), formattedPopulation, country.getCapital());
+            System.out.println(countryString);
+        }
+    }
+
+    @Benchmark
+    public void printCitiesFormatted() {
+        System.out.println(String.format("%-40s %-40s %-30s %-15s",
+                "Name", "CountryName", "District", "Population"));
+        for (City city : cities) {
+            NumberFormat numberFormat = NumberFormat.getNumberInstance(Locale.US);
+            String formattedPopulation = numberFormat.format(city.getPopulation());
+            String cityString = String.format("%-40s %-40s %-30s %-15s",
+                    city.getName(), city.getCountryCode(), city.getDistrict(), formattedPopulation);
+            System.out.println(cityString);
+        }
+    }
+}
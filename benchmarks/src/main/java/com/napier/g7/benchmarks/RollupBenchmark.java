@@ -0,0 +1,148 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7.benchmarks;
+
+import com.napier.g7.City;
+import com.napier.g7.CityTable;
+import com.napier.g7.Country;
+import com.napier.g7.ParallelRollup;
+import com.napier.g7.PopulationRollup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures summing city and non-city population by country, region and
+ * continent over a synthetic city table, on one thread and on fork/join
+ * pools of increasing size. The sequential score does not depend on the
+ * number of threads; it is the baseline the parallel scores divide.
+ * <p>
+ * The synthetic table holds the given number of cities, all in the 239
+ * countries of the dump: copy r of every city of the dump gets its ID
+ * shifted by r times the largest city ID and r mod 1000 added to its
+ * population. Before measuring, the parallel totals are checked against
+ * the sequential ones, and on the dump itself against PopulationRollup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms3g", "-Xmx3g"})
+public class RollupBenchmark {
+
+    // The levels both rollups sum.
+    private static final com.napier.g7.Scope[] LEVELS = {com.napier.g7.Scope.WORLD, com.napier.g7.Scope.CONTINENT,
+            com.napier.g7.Scope.REGION, com.napier.g7.Scope.COUNTRY};
+
+    // Number of cities in the synthetic table.
+    @Param({"10000000"})
+    public int cities;
+
+    // Worker threads of the fork/join pool.
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    // The synthetic table.
+    private CityTable table;
+
+    // The pool the parallel rollup runs on.
+    private ForkJoinPool pool;
+
+    /**
+     * Builds the synthetic table and checks that both paths agree.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        WorldData data = WorldData.get(1);
+        table = synthetic(data.getCountries(), data.getCities(), cities);
+        pool = new ForkJoinPool(threads);
+
+        check(ParallelRollup.sequential(table), ParallelRollup.of(table, pool), data.getCountries());
+
+        // On the dump itself, the totals must equal those of the tree PopulationRollup builds
+        CityTable dump = CityTable.of(data.getCountries(), data.getCities());
+        PopulationRollup tree = new PopulationRollup(data.getCountries(), data.getCities());
+        ParallelRollup parallel = ParallelRollup.of(dump, pool);
+        for (com.napier.g7.Scope scope : LEVELS) {
+            for (PopulationRollup.Node node : tree.getAll(scope)) {
+                if (parallel.getPopulation(scope, node.getName()) != node.getPopulation()
+                        || parallel.getCityPopulation(scope, node.getName()) != node.getCityPopulation()) {
+                    throw new IllegalStateException("Parallel rollup differs from PopulationRollup at " + node.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ParallelRollup sequential() {
+        return ParallelRollup.sequential(table);
+    }
+
+    @Benchmark
+    public ParallelRollup parallel() {
+        return ParallelRollup.of(table, pool);
+    }
+
+    /**
+     * Checks that two rollups have the same totals for every place of the countries.
+     */
+    private static void check(ParallelRollup expected, ParallelRollup actual, List<Country> countries) {
+        for (Country country : countries) {
+            for (com.napier.g7.Scope scope : LEVELS) {
+                String name = scope == com.napier.g7.Scope.CONTINENT ? country.getContinent()
+                        : scope == com.napier.g7.Scope.REGION ? country.getRegion()
+                        : scope == com.napier.g7.Scope.COUNTRY ? country.getName() : null;
+                if (expected.getPopulation(scope, name) != actual.getPopulation(scope, name)
+                        || expected.getCityPopulation(scope, name) != actual.getCityPopulation(scope, name)) {
+                    throw new IllegalStateException("Parallel rollup differs from the sequential one at " + name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a table of the given number of cities by copying the cities of the dump.
+     */
+    private static CityTable synthetic(List<Country> countries, List<City> base, int size) {
+        CityTable dump = CityTable.of(countries, base);
+        int idSpan = 0;
+        for (int row = 0; row < dump.size(); row++) {
+            idSpan = Math.max(idSpan, dump.getId(row));
+        }
+
+        CityTable.Builder builder = new CityTable.Builder(countries, size);
+        for (int i = 0; i < size; i++) {
+            int row = i % dump.size();
+            int copy = i / dump.size();
+            builder.add(dump.getId(row) + copy * idSpan, dump.getName(row), dump.getCountryIndex(row),
+                    dump.getDistrict(row), dump.getPopulation(row) + copy % 1000);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7.benchmarks;
+
+import com.napier.g7.City;
+import com.napier.g7.Country;
+import com.napier.g7.LanguageSpeakers;
+import com.napier.g7.PopulationRollup;
+import com.napier.g7.WorldSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures building the in-memory snapshot and answering reports from it:
+ * top N selection, population rollups and language aggregation. The
+ * sort-per-call benchmark is the baseline the ranked indexes replace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms3g", "-Xmx3g"})
+public class SnapshotBenchmark {
+
+    // Languages of use case 32.
+    private static final List<String> LANGUAGES = List.of("Chinese", "English", "Hindi", "Spanish", "Arabic");
+
+    // Copies of every row.
+    @Param({"1", "100", "1000"})
+    public int scale;
+
+    // How many rows the top N benchmarks select.
+    @Param({"10"})
+    public int topN;
+
+    // The dataset.
+    private WorldData data;
+
+    // A snapshot of the dataset.
+    private WorldSnapshot snapshot;
+
+    /**
+     * Reads the dataset and builds a snapshot of it.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = WorldData.get(scale);
+        snapshot = new WorldSnapshot(data.getCountries(), data.getCities(), data.getLanguages());
+    }
+
+    @Benchmark
+    public WorldSnapshot buildSnapshot() {
+        return new WorldSnapshot(data.getCountries(), data.getCities(), data.getLanguages());
+    }
+
+    @Benchmark
+    public List<Country> topCountriesInRegion() {
+        return snapshot.topCountries(com.napier.g7.Scope.REGION, "Caribbean", topN);
+    }
+
+    @Benchmark
+    public List<City> topCitiesInContinent() {
+        return snapshot.topCityRows(com.napier.g7.Scope.CONTINENT, "Europe", topN);
+    }
+
+    @Benchmark
+    public List<City> topCapitalsInWorld() {
+        return snapshot.topCapitalRows(com.napier.g7.Scope.WORLD, null, topN);
+    }
+
+    @Benchmark
+    public List<City> topCitiesBySortingPerCall() {
+        return data.getCities().stream()
+                .filter(city -> city.getDistrict().equals("California"))
+                .sorted(Comparator.comparingInt(City::getPopulation).reversed())
+                .limit(topN)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Benchmark
+    public PopulationRollup buildRollup() {
+        return new PopulationRollup(snapshot.getCountries(), snapshot.getCities());
+    }
+
+    @Benchmark
+    public PopulationRollup.Node populationOfContinent() {
+        return snapshot.getPopulationRollup().get(com.napier.g7.Scope.CONTINENT, "Asia");
+    }
+
+    @Benchmark
+    public ArrayList<LanguageSpeakers> languageSpeakers() {
+        return snapshot.getLanguageTable().speakers(LANGUAGES);
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7.benchmarks;
+
+import com.napier.g7.City;
+import com.napier.g7.Country;
+import com.napier.g7.CountryLanguage;
+import com.napier.g7.WorldSqlParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rows of db/test_db/world.sql, read by {@link WorldSqlParser} without
+ * MySQL, optionally scaled up.
+ * <p>
+ * A dataset scaled by N holds N copies of every country, city and country
+ * language. Copy r of country ABC is called ABC + r and named "Name r";
+ * its cities get IDs shifted by r times the largest city ID and keep their
+ * names, districts and populations. Continents and regions are not copied,
+ * so every continent and region holds N times as many rows.
+ */
+public final class WorldData {
+
+    // System property naming the dump to read.
+    private static final String PATH_PROPERTY = "world.sql";
+
+    // Datasets already read or scaled, by scale factor.
+    private static final Map<Integer, WorldData> CACHE = new HashMap<>();
+
+    // All countries.
+    private final List<Country> countries;
+
+    // All cities, each with its country code.
+    private final List<City> cities;
+
+    // All country languages.
+    private final List<CountryLanguage> languages;
+
+    private WorldData(List<Country> countries, List<City> cities, List<CountryLanguage> languages) {
+        this.countries = countries;
+        this.cities = cities;
+        this.languages = languages;
+    }
+
+    /**
+     * Get the dataset scaled by the given factor. Datasets are read or built
+     * once per JVM and shared.
+     *
+     * @param scale The number of copies of every row; 1 for the dump as it is.
+     * @return The dataset.
+     */
+    public static synchronized WorldData get(int scale) {
+        WorldData data = CACHE.get(scale);
+        if (data == null) {
+            data = scale == 1 ? read(dumpPath()) : get(1).scaled(scale);
+            CACHE.put(scale, data);
+        }
+        return data;
+    }
+
+    /**
+     * Get all countries.
+     *
+     * @return The countries, in dump order.
+     */
+    public List<Country> getCountries() {
+        return countries;
+    }
+
+    /**
+     * Get all cities.
+     *
+     * @return The cities, in dump order, each with its country code.
+     */
+    public List<City> getCities() {
+        return cities;
+    }
+
+    /**
+     * Get all country languages.
+     *
+     * @return The country languages, in dump order.
+     */
+    public List<CountryLanguage> getLanguages() {
+        return languages;
+    }
+
+    /**
+     * Creates the country, city and countrylanguage tables in a database
+     * and fills them with this dataset.
+     *
+     * @param con An open connection; the tables must not exist yet.
+     * @throws SQLException If the tables cannot be created or filled.
+     */
+    public void createTables(Connection con) throws SQLException {
+        try (Statement stmt = con.createStatement()) {
+            stmt.execute("CREATE TABLE country (Code VARCHAR(16) PRIMARY KEY, Name VARCHAR(64), Continent VARCHAR(16), "
+                    + "Region VARCHAR(32), SurfaceArea DECIMAL(10,2), IndepYear SMALLINT, Population INT, "
+                    + "LifeExpectancy DECIMAL(3,1), GNP DECIMAL(10,2), GNPOld DECIMAL(10,2), LocalName VARCHAR(45), "
+                    + "GovernmentForm VARCHAR(45), HeadOfState VARCHAR(60), Capital INT)");
+            stmt.execute("CREATE TABLE city (ID INT PRIMARY KEY, Name VARCHAR(35), CountryCode VARCHAR(16), "
+                    + "District VARCHAR(20), Population INT)");
+            stmt.execute("CREATE TABLE countrylanguage (CountryCode VARCHAR(16), Language VARCHAR(30), "
+                    + "IsOfficial CHAR(1), Percentage DECIMAL(4,1))");
+        }
+
+        try (PreparedStatement stmt = con.prepareStatement(
+                "INSERT INTO country VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (Country country : countries) {
+                stmt.setString(1, country.getCode());
+                stmt.setString(2, country.getName());
+                stmt.setString(3, country.getContinent());
+                stmt.setString(4, country.getRegion());
+                stmt.setFloat(5, country.getSurfaceArea());
+                stmt.setObject(6, country.getIndepYear(), Types.SMALLINT);
+                stmt.setInt(7, country.getPopulation());
+                stmt.setObject(8, country.getLifeExpectancy(), Types.DECIMAL);
+                stmt.setFloat(9, country.getGnp());
+                stmt.setObject(10, country.getGnpOld(), Types.DECIMAL);
+                stmt.setString(11, country.getLocalName());
+                stmt.setString(12, country.getGovernmentForm());
+                stmt.setString(13, country.getHeadOfState());
+                stmt.setInt(14, country.getCapital());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+
+        try (PreparedStatement stmt = con.prepareStatement("INSERT INTO city VALUES (?, ?, ?, ?, ?)")) {
+            int batched = 0;
+            for (City city : cities) {
+                stmt.setInt(1, city.getId());
+                stmt.setString(2, city.getName());
+                stmt.setString(3, city.getCountryCode());
+                stmt.setString(4, city.getDistrict());
+                stmt.setInt(5, city.getPopulation());
+                stmt.addBatch();
+                if (++batched % 10000 == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+
+        try (PreparedStatement stmt = con.prepareStatement("INSERT INTO countrylanguage VALUES (?, ?, ?, ?)")) {
+            for (CountryLanguage language : languages) {
+                stmt.setString(1, language.getCountryCode());
+                stmt.setString(2, language.getLanguage());
+                stmt.setString(3, language.isOfficial() ? "T" : "F");
+                stmt.setFloat(4, language.getPercentage());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Builds a dataset holding the given number of copies of this one.
+     */
+    private WorldData scaled(int scale) {
+        int idSpan = 0;
+        for (City city : cities) {
+            idSpan = Math.max(idSpan, city.getId());
+        }
+
+        List<Country> scaledCountries = new ArrayList<>(countries.size() * scale);
+        List<City> scaledCities = new ArrayList<>(cities.size() * scale);
+        List<CountryLanguage> scaledLanguages = new ArrayList<>(languages.size() * scale);
+        for (int r = 0; r < scale; r++) {
+            String suffix = r == 0 ? "" : Integer.toString(r);
+            int idOffset = r * idSpan;
+            for (Country country : countries) {
+                Country copy = copy(country);
+                copy.setCode(country.getCode() + suffix);
+                copy.setName(r == 0 ? country.getName() : country.getName() + " " + r);
+                copy.setCapital(country.getCapital() == 0 ? 0 : country.getCapital() + idOffset);
+                scaledCountries.add(copy);
+            }
+            for (City city : cities) {
+                City copy = new City();
+                copy.setId(city.getId() + idOffset);
+                copy.setName(city.getName());
+                copy.setCountryCode(city.getCountryCode() + suffix);
+                copy.setDistrict(city.getDistrict());
+                copy.setPopulation(city.getPopulation());
+                scaledCities.add(copy);
+            }
+            for (CountryLanguage language : languages) {
+                CountryLanguage copy = new CountryLanguage();
+                copy.setCountryCode(language.getCountryCode() + suffix);
+                copy.setLanguage(language.getLanguage());
+                copy.setOfficial(language.isOfficial());
+                copy.setPercentage(language.getPercentage());
+                scaledLanguages.add(copy);
+            }
+        }
+        return new WorldData(scaledCountries, scaledCities, scaledLanguages);
+    }
+
+    /**
+     * Copies every field of a country.
+     */
+    private static Country copy(Country country) {
+        Country copy = new Country();
+        copy.setCode(country.getCode());
+        copy.setName(country.getName());
+        copy.setContinent(country.getContinent());
+        copy.setRegion(country.getRegion());
+        copy.setSurfaceArea(country.getSurfaceArea());
+        copy.setIndepYear(country.getIndepYear());
+        copy.setPopulation(country.getPopulation());
+        copy.setLifeExpectancy(country.getLifeExpectancy());
+        copy.setGnp(country.getGnp());
+        copy.setGnpOld(country.getGnpOld());
+        copy.setLocalName(country.getLocalName());
+        copy.setGovernmentForm(country.getGovernmentForm());
+        copy.setHeadOfState(country.getHeadOfState());
+        copy.setCapital(country.getCapital());
+        return copy;
+    }
+
+    /**
+     * Finds the dump: the path in the world.sql system property, or
+     * db/test_db/world.sql in the current or the parent directory.
+     */
+    private static Path dumpPath() {
+        String property = System.getProperty(PATH_PROPERTY);
+        if (property != null) {
+            return Paths.get(property);
+        }
+        for (String candidate : new String[]{"db/test_db/world.sql", "../db/test_db/world.sql"}) {
+            Path path = Paths.get(candidate);
+            if (Files.isRegularFile(path)) {
+                return path;
+            }
+        }
+        throw new IllegalStateException("Cannot find world.sql; set -D" + PATH_PROPERTY + "=<path>");
+    }
+
+    /**
+     * Reads the dump with the application's own parser.
+     */
+    private static WorldData read(Path path) {
+        WorldSqlParser parser = new WorldSqlParser();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            parser.parse(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new WorldData(parser.getCountries(), parser.getCities(), parser.getLanguages());
+    }
+}
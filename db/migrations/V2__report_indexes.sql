@@ -0,0 +1,30 @@
+--
+-- V2: indexes for the report queries of App
+--
+-- Runs after V1__world.sql, the dump in db/test_db/world.sql. Every report
+-- lists rows by population, largest first, with ties broken by country code
+-- or city ID, so each index keeps its filter columns first, then Population
+-- in descending order, then the tie breaker. Filtered listings, top N
+-- reports and keyset pages then read rows in index order without a sort.
+--
+
+USE `world`;
+
+--
+-- Countries of the world, a continent, a region or a country
+--
+
+ALTER TABLE `country`
+  ADD INDEX `Population` (`Population` DESC, `Code`),
+  ADD INDEX `ContinentPopulation` (`Continent`, `Population` DESC, `Code`),
+  ADD INDEX `RegionPopulation` (`Region`, `Population` DESC, `Code`),
+  ADD INDEX `NamePopulation` (`Name`, `Population` DESC, `Code`);
+
+--
+-- Cities of the world, a country or a district
+--
+
+ALTER TABLE `city`
+  ADD INDEX `Population` (`Population` DESC, `ID`),
+  ADD INDEX `CountryPopulation` (`CountryCode`, `Population` DESC, `ID`),
+  ADD INDEX `DistrictPopulation` (`District`, `Population` DESC, `ID`);
@@ -0,0 +1,285 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7.plancheck;
+
+import com.napier.g7.App;
+import com.napier.g7.City;
+import com.napier.g7.Country;
+import com.napier.g7.Page;
+import com.napier.g7.ReportQuery;
+import com.napier.g7.Scope;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Checks the query plans of every database query App runs.
+ * <p>
+ * Each report is run once against MySQL without a snapshot, so that App
+ * goes to the database, and the queries it runs are caught with a
+ * {@link App.QueryListener}. Every query is then explained with the same
+ * parameters. A query fails the check if any table is read with a full
+ * table scan or the rows are sorted with a filesort, unless that one
+ * report is declared to need it. Only the unfiltered listings may scan a
+ * whole table. Only capitals, and cities filtered on a column of their
+ * country, may sort, each for the reason given where it runs.
+ * <p>
+ * Run it against the database of the docker-compose setup, after the
+ * migrations in db/migrations have been applied:
+ * {@code java -jar plancheck/target/plancheck.jar [host] [port]}. It exits
+ * with 0 if every plan passes and 1 otherwise.
+ */
+public class PlanCheck {
+
+    /**
+     * What a query plan may do that the check fails otherwise.
+     */
+    public enum Cost {
+        // A table is read from start to end.
+        FULL_SCAN,
+        // The rows are sorted rather than read in index order.
+        FILESORT
+    }
+
+    // The database host of the docker-compose setup, seen from the host machine.
+    private static final String DEFAULT_HOST = "localhost";
+
+    // The database port of the docker-compose setup, seen from the host machine.
+    private static final int DEFAULT_PORT = 33060;
+
+    // Rows per page when checking the paged listings.
+    private static final int PAGE_SIZE = 20;
+
+    // The queries caught so far, in the order they ran.
+    private final List<Check> checks = new ArrayList<>();
+
+    // The report now running.
+    private String report;
+
+    // What the plans of the report now running may do.
+    private Set<Cost> allowed;
+
+    /**
+     * Runs every report against the database and checks its query plans.
+     *
+     * @param args The database host and port; localhost and 33060 by default.
+     */
+    public static void main(String[] args) {
+        String host = args.length > 0 ? args[0] : DEFAULT_HOST;
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+
+        App a = new App();
+        a.connect(host, port);
+
+        PlanCheck check = new PlanCheck();
+        a.setQueryListener(check::caught);
+        check.runReports(a);
+        a.setQueryListener(null);
+
+        // Explain on a connection of App's own pool, so the check logs in as App does
+        int failures;
+        try (Connection con = a.getPool().getConnection()) {
+            failures = check.explain(con, System.out);
+        } catch (SQLException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Failed to explain the queries");
+            failures = -1;
+        }
+        a.disconnect();
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Runs every report that goes to the database, with its output thrown
+     * away, and catches the queries it runs.
+     *
+     * @param a The application; it must be connected and have no snapshot.
+     */
+    public void runReports(App a) {
+        Set<Cost> none = EnumSet.noneOf(Cost.class);
+        // Cities of a continent, region or country are ordered by a city column but filtered on a
+        // country column, which no one index holds; the sort covers only the cities matched
+        Set<Cost> joined = EnumSet.of(Cost.FILESORT);
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            // Listings of every row read the whole table, in the order of its Population index
+            run("All countries", EnumSet.of(Cost.FULL_SCAN), a::getAllCountries);
+            run("Countries in a continent", none, () -> a.countriesByContinent("Europe"));
+            run("Countries in a region", none, () -> a.countriesByRegion("Southeast Asia"));
+            run("Top countries", none, () -> a.displayTopPopulatedCountries(10));
+            run("Top countries in a continent", none, () -> a.displayTopPopulatedCountriesInContinent(10, "Europe"));
+            run("Top countries in a region", none, () -> a.displayTopPopulatedCountriesInRegion(10, "Southeast Asia"));
+            run("All cities", EnumSet.of(Cost.FULL_SCAN), a::getAllCities);
+            run("Cities in a continent", joined, () -> a.getCitiesByContinent("Europe"));
+            run("Streamed cities", EnumSet.of(Cost.FULL_SCAN), () -> a.streamAllCities(city -> { }));
+            run("Streamed cities in a continent", joined, () -> a.streamCitiesByContinent("Europe", city -> { }));
+            run("Top cities", none, () -> a.displayTopPopulatedCities(10, Scope.WORLD, null));
+            run("Top cities in a region", joined, () -> a.displayTopPopulatedCities(10, Scope.REGION, "Caribbean"));
+            run("Top cities in a country", joined, () -> a.displayTopPopulatedCities(10, Scope.COUNTRY, "Japan"));
+            run("Top cities in a district", none, () -> a.displayTopPopulatedCities(10, Scope.DISTRICT, "California"));
+            run("Top countries in a country", none, () -> a.displayTopPopulatedCountries(10, Scope.COUNTRY, "France"));
+            // Capitals are ordered by the population of the city each country joins to, which no
+            // index of country holds; there is at most one per country, so the sort stays small
+            run("Capital cities", EnumSet.of(Cost.FULL_SCAN, Cost.FILESORT), () -> a.getCapitals(Scope.WORLD, null));
+            run("Capital cities in a continent", EnumSet.of(Cost.FILESORT),
+                    () -> a.getCapitals(Scope.CONTINENT, "Europe"));
+            run("Top capital cities in a region", EnumSet.of(Cost.FILESORT),
+                    () -> a.displayTopPopulatedCapitals(10, Scope.REGION, "Caribbean"));
+            run("Smallest countries", none, () -> a.run(ReportQuery.countries()
+                    .order(ReportQuery.Order.ASCENDING).top(10).build()));
+
+            countryPages(a, Scope.WORLD, null, none);
+            countryPages(a, Scope.CONTINENT, "Europe", none);
+            countryPages(a, Scope.REGION, "Southeast Asia", none);
+            countryPages(a, Scope.COUNTRY, "France", none);
+            cityPages(a, Scope.WORLD, null, none);
+            cityPages(a, Scope.CONTINENT, "Europe", joined);
+            cityPages(a, Scope.REGION, "Southeast Asia", joined);
+            cityPages(a, Scope.COUNTRY, "Japan", joined);
+            cityPages(a, Scope.DISTRICT, "California", none);
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    /**
+     * Explains every query caught and prints each table of its plan.
+     *
+     * @param con A connection to the database; the driver inlines the
+     *            parameters of statements the server cannot prepare.
+     * @param out Where to print the plans.
+     * @return The number of queries that failed the check.
+     */
+    public int explain(Connection con, PrintStream out) {
+        int failures = 0;
+        out.printf("%-40s %-10s %-8s %-20s %8s  %-6s %s%n", "Report", "Table", "Type", "Key", "Rows", "Result", "Extra");
+        for (Check check : checks) {
+            List<String> problems = new ArrayList<>();
+            if (check.sql == null) {
+                problems.add("runs no query");
+            } else {
+                try (PreparedStatement stmt = con.prepareStatement("EXPLAIN " + check.sql)) {
+                    for (int i = 0; i < check.parameters.length; i++) {
+                        stmt.setObject(i + 1, check.parameters[i]);
+                    }
+                    try (ResultSet rset = stmt.executeQuery()) {
+                        while (rset.next()) {
+                            String type = rset.getString("type");
+                            String extra = rset.getString("Extra");
+                            boolean fullScan = "ALL".equals(type);
+                            boolean filesort = extra != null && extra.contains("Using filesort");
+                            boolean failed = fullScan && !check.allowed.contains(Cost.FULL_SCAN)
+                                    || filesort && !check.allowed.contains(Cost.FILESORT);
+                            out.printf("%-40s %-10s %-8s %-20s %8d  %-6s %s%n", check.report,
+                                    rset.getString("table"), type, rset.getString("key"), rset.getLong("rows"),
+                                    failed ? "FAIL" : "ok", extra == null ? "" : extra);
+                            if (failed) {
+                                problems.add((fullScan ? "full scan of " : "filesort on ") + rset.getString("table"));
+                            }
+                        }
+                    }
+                } catch (SQLException e) {
+                    problems.add(e.getMessage());
+                }
+            }
+            if (!problems.isEmpty()) {
+                failures++;
+                out.println("  " + check.report + ": " + String.join(", ", problems));
+                if (check.sql != null) {
+                    out.println("  " + check.sql);
+                }
+            }
+        }
+        out.println(checks.size() + " queries checked, " + failures + " failed");
+        return failures;
+    }
+
+    /**
+     * Runs one report and records the queries it runs, or that it ran none.
+     */
+    private void run(String report, Set<Cost> allowed, Runnable body) {
+        this.report = report;
+        this.allowed = allowed;
+        int before = checks.size();
+        body.run();
+        if (checks.size() == before) {
+            checks.add(new Check(report, allowed, null, null));
+        }
+    }
+
+    /**
+     * Runs the first and the second page of a country listing.
+     */
+    private void countryPages(App a, Scope scope, String key, Set<Cost> allowed) {
+        String name = "Country pages in " + scope.name().toLowerCase(Locale.ROOT);
+        String[] next = new String[1];
+        run(name, allowed, () -> {
+            Page<Country> page = a.getCountryPage(scope, key, PAGE_SIZE, null);
+            next[0] = page == null ? null : page.getNextToken();
+        });
+        if (next[0] != null) {
+            run(name + ", next", allowed, () -> a.getCountryPage(scope, key, PAGE_SIZE, next[0]));
+        }
+    }
+
+    /**
+     * Runs the first and the second page of a city listing.
+     */
+    private void cityPages(App a, Scope scope, String key, Set<Cost> allowed) {
+        String name = "City pages in " + scope.name().toLowerCase(Locale.ROOT);
+        String[] next = new String[1];
+        run(name, allowed, () -> {
+            Page<City> page = a.getCityPage(scope, key, PAGE_SIZE, null);
+            next[0] = page == null ? null : page.getNextToken();
+        });
+        if (next[0] != null) {
+            run(name + ", next", allowed, () -> a.getCityPage(scope, key, PAGE_SIZE, next[0]));
+        }
+    }
+
+    /**
+     * Records a query App is about to run.
+     */
+    private void caught(String name, String sql, Object[] parameters) {
+        checks.add(new Check(report, allowed, sql, parameters));
+    }
+
+    /**
+     * A query caught while running a report.
+     */
+    private static final class Check {
+
+        // The report that ran the query.
+        final String report;
+
+        // What the plan may do.
+        final Set<Cost> allowed;
+
+        // The query, or null if the report ran none.
+        final String sql;
+
+        // The values of its parameters.
+        final Object[] parameters;
+
+        Check(String report, Set<Cost> allowed, String sql, Object[] parameters) {
+            this.report = report;
+            this.allowed = allowed;
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+}
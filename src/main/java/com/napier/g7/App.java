@@ -5,10 +5,16 @@
  */
 
 package com.napier.g7;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.*;
-import java.text.NumberFormat;
 import java.util.ArrayList;
-import java.util.Locale;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
 
 /**
  * The `App` class contains the main method and serves as the entry point for the application.
@@ -21,91 +27,254 @@ public class App
      * Application entry point. Demonstrates connecting to a MySQL database,
      * querying and displaying country and city information, and performing
      * specific queries based on continent and region.
+     * <p>
+     * With {@code serve [port]} as arguments, the reports are served over
+     * HTTP instead until the process is stopped; see {@link ReportServer}.
+     * With {@code offline [file]}, or {@code serve port file}, the world
+     * tables are read from a mysqldump file instead of the database.
+     * Otherwise the tables come from the snapshot file saved by the last
+     * database load, if it is recent, and from the database if it is not.
      *
-     * @param args Command-line arguments (unused).
+     * @param args Command-line arguments: {@code serve}, an optional port
+     *             (8080) and an optional dump file to serve the reports;
+     *             {@code offline} and an optional dump file
+     *             (db/test_db/world.sql) to print every report once without
+     *             a database; anything else to print every report once.
      */
     public static void main(String[] args)
     {
         // Create new Application
         App a = new App();
 
-        // Connect to database
-        a.connect();
+        // Publish the query metrics through JMX while the App runs
+        a.getMetrics().registerMBeans();
+
+        String mode = args.length > 0 ? args[0] : "";
+        String dump = null;
+        if (mode.equals("offline"))
+        {
+            dump = args.length > 1 ? args[1] : DEFAULT_WORLD_SQL;
+        }
+        else if (mode.equals("serve") && args.length > 2)
+        {
+            dump = args[2];
+        }
+
+        if (dump != null)
+        {
+            // Read the world tables from the dump file; no database is needed
+            a.loadSnapshot(Paths.get(dump));
+            if (a.getSnapshot() == null)
+            {
+                System.exit(-1);
+            }
+        }
+        else if (!a.loadSnapshotFile())
+        {
+            // No recent snapshot file; connect to database
+            a.connect();
+
+            // Read the world tables once and answer every report from memory
+            a.loadSnapshot();
+        }
+
+        if (mode.equals("serve"))
+        {
+            // Keep the snapshot up to date unless it came from a dump file; a snapshot file may be a day old
+            a.serve(args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_HTTP_PORT, dump == null);
+            return;
+        }
 
         //Declaring Variables
         String targetContinent = "Europe";  // Replace "Asia" with the desired continent
         String targetRegion = "Southeast Asia";  // Replace "Southeast Asia" with the desired region
         int numberOfCountries = 10; // Replace "10" with the desired number
 
-
+        // Run the independent reports concurrently; output is printed in this order
+        ReportRunner runner = new ReportRunner();
 
         // Extract country population information
-        ArrayList<Country> countries = a.getAllCountries();
-        System.out.println("\n**********Countries********\n");
-        // Print the count of countries
-        int countOfCountries = countries.size()-1;
-        System.out.println("Number of countries: " + countOfCountries +"\n");
-        a.printCountries(countries);
+        runner.add("Countries", () -> {
+            ArrayList<Country> countries = a.getAllCountries();
+            System.out.println("\n**********Countries********\n");
+            // Print the count of countries
+            int countOfCountries = countries.size()-1;
+            System.out.println("Number of countries: " + countOfCountries +"\n");
+            a.printCountries(countries);
+        });
 
         // Get all countries in the specified continent
-        ArrayList<Country> countriesByContinent = a.countriesByContinent(targetContinent);
-        System.out.println("\n**********Countries in " + targetContinent + "********\n");
-        // Print the count of countries
-        int countCountriesByContinent = countriesByContinent.size()-1;
-        System.out.println("Number of countries: " + countCountriesByContinent +"\n");
-        a.printCountries(countriesByContinent);
+        runner.add("Countries in " + targetContinent, () -> {
+            ArrayList<Country> countriesByContinent = a.countriesByContinent(targetContinent);
+            System.out.println("\n**********Countries in " + targetContinent + "********\n");
+            // Print the count of countries
+            int countCountriesByContinent = countriesByContinent.size()-1;
+            System.out.println("Number of countries: " + countCountriesByContinent +"\n");
+            a.printCountries(countriesByContinent);
+        });
 
         // Get all countries in the specified region
-        ArrayList<Country> countriesByRegion = a.countriesByRegion("Southeast Asia");
-        System.out.println("\n**********Countries in " + targetRegion + "********\n");
-        // Print the count of countries
-        int countCountriesByRegion = countriesByRegion.size()-1;
-        System.out.println("Number of countries: " + countCountriesByRegion+"\n");
-        a.printCountries(countriesByRegion);
+        runner.add("Countries in " + targetRegion, () -> {
+            ArrayList<Country> countriesByRegion = a.countriesByRegion(targetRegion);
+            System.out.println("\n**********Countries in " + targetRegion + "********\n");
+            // Print the count of countries
+            int countCountriesByRegion = countriesByRegion.size()-1;
+            System.out.println("Number of countries: " + countCountriesByRegion+"\n");
+            a.printCountries(countriesByRegion);
+        });
 
         // Extract top N country population information
-        System.out.println("\n**********Top "+ numberOfCountries +" Countries********\n");
-        a.displayTopPopulatedCountries(numberOfCountries);
+        runner.add("Top " + numberOfCountries + " countries", () -> {
+            System.out.println("\n**********Top "+ numberOfCountries +" Countries********\n");
+            a.displayTopPopulatedCountries(numberOfCountries);
+        });
 
         // Extract top N country population information on specific continent
-        System.out.println("\n**********Top "+ numberOfCountries +" Countries in " + targetContinent+" ********\n");
-        a.displayTopPopulatedCountriesInContinent(10,targetContinent);
+        runner.add("Top " + numberOfCountries + " countries in " + targetContinent, () -> {
+            System.out.println("\n**********Top "+ numberOfCountries +" Countries in " + targetContinent+" ********\n");
+            a.displayTopPopulatedCountriesInContinent(numberOfCountries,targetContinent);
+        });
 
         // Extract top N country population information on specific region
-        System.out.println("\n**********Top "+ numberOfCountries +" Countries in " + targetRegion+" ********\n");
-        a.displayTopPopulatedCountriesInRegion(10,targetRegion);
+        runner.add("Top " + numberOfCountries + " countries in " + targetRegion, () -> {
+            System.out.println("\n**********Top "+ numberOfCountries +" Countries in " + targetRegion+" ********\n");
+            a.displayTopPopulatedCountriesInRegion(numberOfCountries,targetRegion);
+        });
 
         // Extract city population information
-        ArrayList<City> cities = a.getAllCities();
-        System.out.println("\n**********Cities********\n");
-        // Print the count of cities
-        int countOfCities = cities.size()-1;
-        System.out.println("Number of cities: " + countOfCities+"\n");
-        a.printCities(cities);
+        runner.add("Cities", () -> {
+            ArrayList<City> cities = a.getAllCities();
+            System.out.println("\n**********Cities********\n");
+            // Print the count of cities
+            int countOfCities = cities.size()-1;
+            System.out.println("Number of cities: " + countOfCities+"\n");
+            a.printCities(cities);
+        });
 
         // Get all cities in the specified continent
-        ArrayList<City> citiesByContinent = a.getCitiesByContinent(targetContinent);
-        System.out.println("\n**********Cities in " + targetContinent + "********\n");
-        // Print the count of cities
-        int countCitiesByContinent = citiesByContinent.size()-1;
-        System.out.println("Number of cities: " + countCitiesByContinent+"\n");
-        a.printCities(citiesByContinent);
+        runner.add("Cities in " + targetContinent, () -> {
+            ArrayList<City> citiesByContinent = a.getCitiesByContinent(targetContinent);
+            System.out.println("\n**********Cities in " + targetContinent + "********\n");
+            // Print the count of cities
+            int countCitiesByContinent = citiesByContinent.size()-1;
+            System.out.println("Number of cities: " + countCitiesByContinent+"\n");
+            a.printCities(citiesByContinent);
+        });
+
+        // Get all capital cities in the world, the continent and the region
+        runner.add("Capital cities", () -> {
+            System.out.println("\n**********Capital Cities********\n");
+            a.printCapitals(a.getCapitals(Scope.WORLD, null));
+        });
+        runner.add("Capital cities in " + targetContinent, () -> {
+            System.out.println("\n**********Capital Cities in " + targetContinent + "********\n");
+            a.printCapitals(a.getCapitals(Scope.CONTINENT, targetContinent));
+        });
+        runner.add("Capital cities in " + targetRegion, () -> {
+            System.out.println("\n**********Capital Cities in " + targetRegion + "********\n");
+            a.printCapitals(a.getCapitals(Scope.REGION, targetRegion));
+        });
+
+        // Extract top N capital city population information
+        runner.add("Top " + numberOfCountries + " capital cities", () -> {
+            System.out.println("\n**********Top " + numberOfCountries + " Capital Cities********\n");
+            a.displayTopPopulatedCapitals(numberOfCountries, Scope.WORLD, null);
+        });
+        runner.add("Top " + numberOfCountries + " capital cities in " + targetContinent, () -> {
+            System.out.println("\n**********Top " + numberOfCountries + " Capital Cities in " + targetContinent + " ********\n");
+            a.displayTopPopulatedCapitals(numberOfCountries, Scope.CONTINENT, targetContinent);
+        });
+        runner.add("Top " + numberOfCountries + " capital cities in " + targetRegion, () -> {
+            System.out.println("\n**********Top " + numberOfCountries + " Capital Cities in " + targetRegion + " ********\n");
+            a.displayTopPopulatedCapitals(numberOfCountries, Scope.REGION, targetRegion);
+        });
+
+        // Count the speakers of the most spoken languages
+        runner.add("Language speakers", () -> {
+            System.out.println("\n**********Language Speakers********\n");
+            a.displayLanguageSpeakers("Chinese", "English", "Hindi", "Spanish", "Arabic");
+        });
+
+        runner.run();
+
+        // Report how the connection pool and the result cache were used
+        if (a.getPool() != null)
+        {
+            System.out.println("\n" + a.getPool().getMetrics());
+            System.out.println(a.getResultCache());
+        }
 
+        // Report where the time of each query and table went
+        a.getMetrics().printSummary(System.out);
 
         // Disconnect from database
         a.disconnect();
     }
 
-    private Connection con = null;
+    // Dump file read by the offline mode when none is given.
+    private static final String DEFAULT_WORLD_SQL = "db/test_db/world.sql";
+
+    // File the world snapshot is saved to after a database load and read from on the next start.
+    private static final String SNAPSHOT_FILE = "world.snapshot";
+
+    // How old a snapshot file may be before the database is read again.
+    private static final long SNAPSHOT_MAX_AGE_MILLIS = 24 * 60 * 60 * 1000;
+
+    // How often the report server checks the database for edits to the world tables.
+    private static final long SNAPSHOT_REFRESH_MILLIS = 30 * 1000;
+
+    // Port the report server listens on when none is given.
+    private static final int DEFAULT_HTTP_PORT = 8080;
+
+    // Number of connections the pool may open at the same time.
+    private static final int POOL_SIZE = 10;
+
+    // Pool of database connections shared by all queries; set by connect(), possibly on another thread.
+    private volatile ConnectionPool pool = null;
+
+    // Renderer of the tables printed by each thread.
+    private static final ThreadLocal<TableRenderer> RENDERER = ThreadLocal.withInitial(TableRenderer::new);
+
+    // In-memory copy of the database; when set, queries are answered from it. Replaced whole, never changed.
+    private volatile WorldSnapshot snapshot = null;
+
+    // Number of query results the result cache keeps.
+    private static final int RESULT_CACHE_SIZE = 256;
+
+    // How long a cached query result is used before the query runs again.
+    private static final long RESULT_CACHE_TTL_MILLIS = 10 * 60 * 1000;
+
+    // Timings and row counts of every query and report.
+    private final MetricsRegistry metrics = new MetricsRegistry();
+
+    // Plans of the report shapes run so far.
+    private final ReportPlanner planner = new ReportPlanner();
+
+    // Told about every query before it runs; null for none.
+    private volatile QueryListener queryListener = null;
+
+    // Results of database queries, keyed by SQL text and parameters.
+    private final ResultCache<List<Object>, List<?>> resultCache =
+            new ResultCache<>(RESULT_CACHE_SIZE, RESULT_CACHE_TTL_MILLIS);
+
+    /**
+     * Connects to the MySQL database of the docker-compose setup.
+     */
+    public void connect()
+    {
+        connect("db", 3306);
+    }
 
     /**
      * Connects to the MySQL database.
-     * The method loads the MySQL JDBC driver, attempts to connect to the database,
-     * and handles connection retries in case of failure.
+     * The method loads the MySQL JDBC driver, creates the connection pool,
+     * and waits until the database accepts connections, retrying with
+     * exponential backoff for up to five minutes.
      *
-     * @throws ClassNotFoundException If the MySQL JDBC driver is not found.
+     * @param host The database host name.
+     * @param port The database port.
      */
-    public void connect()
+    public void connect(String host, int port)
     {
         try
         {
@@ -118,71 +287,264 @@ public class App
             System.exit(-1);
         }
 
-        int retries = 10;
-        for (int i = 0; i < retries; ++i)
+        pool = new ConnectionPool("jdbc:mysql://" + host + ":" + port + "/world?useSSL=false&connectTimeout=2000&useServerPrepStmts=true",
+                "root", "example", POOL_SIZE);
+
+        // Wait until the database is ready, however long it takes to come up
+        System.out.println("Connecting to database...");
+        DatabaseBootstrap bootstrap = new DatabaseBootstrap(host, port, pool);
+        if (bootstrap.awaitReady() == DatabaseBootstrap.Readiness.READY)
         {
-            System.out.println("Connecting to database...");
-            try
-            {
-                // Wait a bit for db to start
-                Thread.sleep(30000);
-                // Connect to database
-                con = DriverManager.getConnection("jdbc:mysql://db:3306/world?useSSL=false", "root", "example");
-                System.out.println("Successfully connected");
-                break;
-            }
-            catch (SQLException sqle)
-            {
-                System.out.println("Failed to connect to database attempt " + Integer.toString(i));
-                System.out.println(sqle.getMessage());
-            }
-            catch (InterruptedException ie)
-            {
-                System.out.println("Thread interrupted? Should not happen.");
-            }
+            System.out.println("Successfully connected");
+        }
+        else
+        {
+            System.out.println("Failed to connect to database");
         }
+        System.out.println(bootstrap);
     }
 
     /**
      * Disconnects from the MySQL database.
-     * Closes the database connection if it is open.
+     * Closes every pooled connection.
      */
     public void disconnect()
     {
-        if (con != null)
+        if (pool != null)
         {
-            try
-            {
-                // Close connection
-                con.close();
-            }
-            catch (Exception e)
-            {
-                System.out.println("Error closing connection to database");
-            }
+            // Close all pooled connections
+            pool.close();
+        }
+    }
+
+    /**
+     * Serves the reports over HTTP until the process is stopped. When
+     * connected to the database, the snapshot is kept up to date with edits
+     * to the world tables in the background. On shutdown the server stops,
+     * the query metrics are printed and the database is disconnected.
+     *
+     * @param port The port to listen on.
+     */
+    public void serve(int port)
+    {
+        serve(port, false);
+    }
+
+    /**
+     * Serves the reports over HTTP until the process is stopped, keeping the
+     * snapshot up to date with edits to the world tables in the background.
+     * If the App is not connected yet, as after loading a snapshot file, it
+     * connects on a background thread while the loaded snapshot is served,
+     * and the first refresh brings that snapshot up to date.
+     *
+     * @param port    The port to listen on.
+     * @param connect Whether to connect to the database first if not connected.
+     */
+    public void serve(int port, boolean connect)
+    {
+        ReportServer server;
+        try
+        {
+            server = new ReportServer(this, port);
+        }
+        catch (IOException e)
+        {
+            System.out.println(e.getMessage());
+            System.out.println("Failed to start report server on port " + port);
+            disconnect();
+            return;
+        }
+
+        // Pick up edits to the world tables while serving, if there is a database
+        SnapshotRefresher refresher = new SnapshotRefresher(this);
+        if (pool != null)
+        {
+            refresher.start(SNAPSHOT_REFRESH_MILLIS);
+        }
+        else if (connect)
+        {
+            // Waiting for the database must not hold up serving the loaded snapshot
+            Thread connector = new Thread(() -> {
+                connect();
+                refresher.start(SNAPSHOT_REFRESH_MILLIS);
+            }, "database-connector");
+            connector.setDaemon(true);
+            connector.start();
+        }
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            refresher.close();
+            metrics.printSummary(System.out);
+            disconnect();
+            stopped.countDown();
+        }));
+        server.start();
+        System.out.println("Serving reports on port " + server.getPort());
+
+        // Keep the main thread alive until shutdown
+        try
+        {
+            stopped.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
         }
     }
 
+    /**
+     * Get the connection pool used by the query methods.
+     *
+     * @return The connection pool, or null before connect() is called.
+     */
+    public ConnectionPool getPool()
+    {
+        return pool;
+    }
+
+    /**
+     * Get the cache of query results, to tune it, read its hit rate or
+     * invalidate it after the database has changed.
+     *
+     * @return The result cache.
+     */
+    public ResultCache<List<Object>, List<?>> getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Get the timings and row counts of every query and report this App has
+     * run, to print them or publish them through JMX.
+     *
+     * @return The metrics registry.
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Set the listener told about every database query before it runs,
+     * including queries answered from the result cache.
+     *
+     * @param queryListener The listener, or null for none.
+     */
+    public void setQueryListener(QueryListener queryListener) {
+        this.queryListener = queryListener;
+    }
+
+    /**
+     * Loads the country, city and countrylanguage tables into memory once, so that every
+     * query method after this call is answered from the snapshot instead of
+     * the database. The snapshot is then saved to the snapshot file for the
+     * next start.
+     */
+    public void loadSnapshot() {
+        QueryMetrics m = metrics.get("loadSnapshot");
+        long start = System.nanoTime();
+        WorldSnapshot loaded;
+        try (Connection con = pool.getConnection()) {
+            m.recordConnect(System.nanoTime() - start);
+            loaded = new WorldSnapshotLoader(metrics).load(con);
+            m.recordRun(System.nanoTime() - start, loaded.getCountries().size() + loaded.getCities().size());
+        } catch (Exception e) {
+            m.recordError();
+            // Keep querying the database if the snapshot cannot be loaded
+            System.out.println(e.getMessage());
+            System.out.println("Failed to load world snapshot");
+            return;
+        }
+        snapshot = loaded;
+
+        try {
+            SnapshotFile.write(loaded, Paths.get(SNAPSHOT_FILE));
+        } catch (Exception e) {
+            // The snapshot in memory is still good; the next start reads the database again
+            System.out.println(e.getMessage());
+            System.out.println("Failed to save world snapshot to " + SNAPSHOT_FILE);
+        }
+    }
+
+    /**
+     * Loads the world snapshot from the snapshot file written by the last
+     * database load, if it is less than a day old and intact.
+     *
+     * @return True if the snapshot was loaded; false if the database must be read instead.
+     */
+    public boolean loadSnapshotFile() {
+        Path file = Paths.get(SNAPSHOT_FILE);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        QueryMetrics m = metrics.get("loadSnapshotFile");
+        long start = System.nanoTime();
+        try {
+            WorldSnapshot loaded = SnapshotFile.read(file, SNAPSHOT_MAX_AGE_MILLIS);
+            m.recordRun(System.nanoTime() - start, loaded.getCountries().size() + loaded.getCities().size());
+            snapshot = loaded;
+            System.out.println("Loaded world snapshot from " + SNAPSHOT_FILE);
+            return true;
+        } catch (Exception e) {
+            m.recordError();
+            System.out.println(e.getMessage());
+            System.out.println("Failed to load world snapshot from " + SNAPSHOT_FILE);
+            return false;
+        }
+    }
+
+    /**
+     * Loads the country, city and countrylanguage tables from a mysqldump
+     * file, such as db/test_db/world.sql, so that every query method after
+     * this call is answered without a database.
+     *
+     * @param dump The dump file.
+     */
+    public void loadSnapshot(Path dump) {
+        try {
+            snapshot = WorldSqlParser.load(dump);
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            System.out.println("Failed to load world snapshot from " + dump);
+        }
+    }
+
+    /**
+     * Get the snapshot the query methods are answered from.
+     *
+     * @return The snapshot, or null if the database is queried instead.
+     */
+    public WorldSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Answers every query method from the given snapshot.
+     *
+     * @param snapshot The snapshot to use, or null to query the database again.
+     */
+    public void useSnapshot(WorldSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
     /**
      * Prints the details of a list of countries in a formatted table.
      *
      * @param countries The list of Country objects to print.
      */
     public void printCountries(ArrayList<Country> countries) {
+        long start = System.nanoTime();
+        TableRenderer renderer = renderer();
+
         // Print header
-        System.out.println(String.format("%-5s %-50s %-15s %-40s %-15s %-10s",
-                "Code", "Name", "Continent", "Region", "Population", "Capital"));
+        renderer.countryHeader();
 
         // Loop over all countries in the list
         for (Country country : countries) {
-            // Format population with commas
-            NumberFormat numberFormat = NumberFormat.getNumberInstance(Locale.US);
-            String formattedPopulation = numberFormat.format(country.getPopulation());
-            String countryString = String.format("%-5s %-50s %-15s %-40s %-15s %-10s",
-                    country.getCode(), country.getName(), country.getContinent(),
-                    country.getRegion(), formattedPopulation, country.getCapital());
-            System.out.println(countryString);
+            renderer.country(country);
         }
+        renderer.flush();
+        metrics.get("printCountries").recordRender(System.nanoTime() - start);
     }
 
     /**
@@ -191,20 +553,70 @@ public class App
      * @param cities The list of City objects to print.
      */
     public void printCities(ArrayList<City> cities) {
+        long start = System.nanoTime();
+        TableRenderer renderer = renderer();
 
         // Print header
-        System.out.println(String.format("%-40s %-40s %-30s %-15s",
-                "Name", "CountryName", "District", "Population"));
+        renderer.cityHeader();
 
         // Loop over all cities in the list
         for (City city : cities) {
-            // Format population with commas
-            NumberFormat numberFormat = NumberFormat.getNumberInstance(Locale.US);
-            String formattedPopulation = numberFormat.format(city.getPopulation());
-            String cityString = String.format("%-40s %-40s %-30s %-15s",
-                    city.getName(), city.getCountryCode(), city.getDistrict(), formattedPopulation);
-            System.out.println(cityString);
+            renderer.city(city);
+        }
+        renderer.flush();
+        metrics.get("printCities").recordRender(System.nanoTime() - start);
+    }
+
+    /**
+     * Prints a list of capital cities.
+     *
+     * @param capitals The list of capitals to print, with the country name in place of the country code.
+     */
+    public void printCapitals(ArrayList<City> capitals) {
+        long start = System.nanoTime();
+        TableRenderer renderer = renderer();
+
+        // Print header
+        renderer.capitalHeader();
+
+        // Loop over all capitals in the list
+        for (City capital : capitals) {
+            renderer.capital(capital);
         }
+        renderer.flush();
+        metrics.get("printCapitals").recordRender(System.nanoTime() - start);
+    }
+
+    /**
+     * Prints the header of the city table.
+     */
+    public void printCityHeader() {
+        TableRenderer renderer = renderer();
+        renderer.cityHeader();
+        renderer.flush();
+    }
+
+    /**
+     * Prints one row of the city table. Can be passed to the streaming city
+     * queries to print each city as soon as it is read.
+     *
+     * @param city The City object to print.
+     */
+    public void printCity(City city) {
+        TableRenderer renderer = renderer();
+        renderer.city(city);
+        renderer.flush();
+    }
+
+    /**
+     * Get the table renderer of the current thread, pointed at System.out.
+     * Each thread keeps its own renderer so its buffers are reused by every
+     * table the thread prints.
+     */
+    private static TableRenderer renderer() {
+        TableRenderer renderer = RENDERER.get();
+        renderer.setOutput(System.out);
+        return renderer;
     }
 
     /**
@@ -215,53 +627,7 @@ public class App
      *         ordered by population in descending order.
      */
     public ArrayList<Country> getAllCountries() {
-        try {
-            // Create an SQL statement
-            Statement stmt = con.createStatement();
-
-            // Create string for SQL statement
-            String strSelect =
-                    "SELECT code, name, continent, region, surfaceArea, indepYear, " +
-                            "population, lifeExpectancy, gnp, gnpOld, localName, " +
-                            "governmentForm, headOfState, capital " +
-                            "FROM country " +
-                            "ORDER BY population DESC";
-
-            // Execute SQL statement
-            ResultSet rset = stmt.executeQuery(strSelect);
-
-            // Extract country information
-            ArrayList<Country> countries = new ArrayList<>();
-            while (rset.next()) {
-                // Create a new Country object
-                Country country = new Country();
-                // Set country attributes from the result set
-                country.setCode(rset.getString("code"));
-                country.setName(rset.getString("name"));
-                country.setContinent(rset.getString("continent"));
-                country.setRegion(rset.getString("region"));
-                country.setSurfaceArea(rset.getFloat("surfaceArea"));
-                country.setIndepYear(rset.getInt("indepYear"));
-                country.setPopulation(rset.getInt("population"));
-                country.setLifeExpectancy(rset.getFloat("lifeExpectancy"));
-                country.setGnp(rset.getFloat("gnp"));
-                country.setGnpOld(rset.getFloat("gnpOld"));
-                country.setLocalName(rset.getString("localName"));
-                country.setGovernmentForm(rset.getString("governmentForm"));
-                country.setHeadOfState(rset.getString("headOfState"));
-                country.setCapital(rset.getInt("capital"));
-                // Add the Country object to the ArrayList
-                countries.add(country);
-            }
-            // Return the list of countries
-            return countries;
-        } catch (Exception e) {
-            // Print error messages in case of an exception
-            System.out.println(e.getMessage());
-            System.out.println("Failed to get country details");
-            // Return null in case of an exception
-            return null;
-        }
+        return run(ReportQuery.countries().build());
     }
 
     /**
@@ -273,54 +639,7 @@ public class App
      *         specified continent, ordered by population in descending order.
      */
     public ArrayList<Country> countriesByContinent(String continent) {
-        try {
-            // Create an SQL statement
-            Statement stmt = con.createStatement();
-
-            // Create string for SQL statement
-            String strSelect =
-                    "SELECT code, name, continent, region, surfaceArea, indepYear, " +
-                            "population, lifeExpectancy, gnp, gnpOld, localName, " +
-                            "governmentForm, headOfState, capital " +
-                            "FROM country " +
-                            "WHERE continent = '" + continent + "' " +
-                            "ORDER BY population DESC";
-
-            // Execute SQL statement
-            ResultSet rset = stmt.executeQuery(strSelect);
-
-            // Extract country information
-            ArrayList<Country> countries = new ArrayList<>();
-            while (rset.next()) {
-                // Create a new Country object
-                Country country = new Country();
-                // Set country attributes from the result set
-                country.setCode(rset.getString("code"));
-                country.setName(rset.getString("name"));
-                country.setContinent(rset.getString("continent"));
-                country.setRegion(rset.getString("region"));
-                country.setSurfaceArea(rset.getFloat("surfaceArea"));
-                country.setIndepYear(rset.getInt("indepYear"));
-                country.setPopulation(rset.getInt("population"));
-                country.setLifeExpectancy(rset.getFloat("lifeExpectancy"));
-                country.setGnp(rset.getFloat("gnp"));
-                country.setGnpOld(rset.getFloat("gnpOld"));
-                country.setLocalName(rset.getString("localName"));
-                country.setGovernmentForm(rset.getString("governmentForm"));
-                country.setHeadOfState(rset.getString("headOfState"));
-                country.setCapital(rset.getInt("capital"));
-                // Add the Country object to the ArrayList
-                countries.add(country);
-            }
-            // Return the list of countries
-            return countries;
-        } catch (Exception e) {
-            // Print error messages in case of an exception
-            System.out.println(e.getMessage());
-            System.out.println("Failed to get country details by continent");
-            // Return null in case of an exception
-            return null;
-        }
+        return run(ReportQuery.countries().in(Scope.CONTINENT, continent).build());
     }
 
     /**
@@ -332,54 +651,7 @@ public class App
      *         specified region, ordered by population in descending order.
      */
     public ArrayList<Country> countriesByRegion(String region) {
-        try {
-            // Create an SQL statement
-            Statement stmt = con.createStatement();
-
-            // Create string for SQL statement
-            String strSelect =
-                    "SELECT code, name, continent, region, surfaceArea, indepYear, " +
-                            "population, lifeExpectancy, gnp, gnpOld, localName, " +
-                            "governmentForm, headOfState, capital " +
-                            "FROM country " +
-                            "WHERE region = '" + region + "' " +
-                            "ORDER BY population DESC";
-
-            // Execute SQL statement
-            ResultSet rset = stmt.executeQuery(strSelect);
-
-            // Extract country information
-            ArrayList<Country> countries = new ArrayList<>();
-            while (rset.next()) {
-                // Create a new Country object
-                Country country = new Country();
-                // Set country attributes from the result set
-                country.setCode(rset.getString("code"));
-                country.setName(rset.getString("name"));
-                country.setContinent(rset.getString("continent"));
-                country.setRegion(rset.getString("region"));
-                country.setSurfaceArea(rset.getFloat("surfaceArea"));
-                country.setIndepYear(rset.getInt("indepYear"));
-                country.setPopulation(rset.getInt("population"));
-                country.setLifeExpectancy(rset.getFloat("lifeExpectancy"));
-                country.setGnp(rset.getFloat("gnp"));
-                country.setGnpOld(rset.getFloat("gnpOld"));
-                country.setLocalName(rset.getString("localName"));
-                country.setGovernmentForm(rset.getString("governmentForm"));
-                country.setHeadOfState(rset.getString("headOfState"));
-                country.setCapital(rset.getInt("capital"));
-                // Add the Country object to the ArrayList
-                countries.add(country);
-            }
-            // Return the list of countries
-            return countries;
-        } catch (Exception e) {
-            // Print error messages in case of an exception
-            System.out.println(e.getMessage());
-            System.out.println("Failed to get country details by region");
-            // Return null in case of an exception
-            return null;
-        }
+        return run(ReportQuery.countries().in(Scope.REGION, region).build());
     }
 
     /**
@@ -389,54 +661,7 @@ public class App
      * @param topN The number of top populated countries to display.
      */
     public void displayTopPopulatedCountries(int topN) {
-        try {
-            // Create an SQL statement
-            Statement stmt = con.createStatement();
-
-            // Create string for SQL statement
-            String strSelect =
-                    "SELECT code, name, continent, region, surfaceArea, indepYear, " +
-                            "population, lifeExpectancy, gnp, gnpOld, localName, " +
-                            "governmentForm, headOfState, capital " +
-                            "FROM country " +
-                            "ORDER BY population DESC " +
-                            "LIMIT " + topN;
-
-            // Execute SQL statement
-            ResultSet rset = stmt.executeQuery(strSelect);
-
-            // Extract country information
-            ArrayList<Country> countries = new ArrayList<>();
-            while (rset.next()) {
-                // Create a new Country object
-                Country country = new Country();
-                // Set country attributes from the result set
-                country.setCode(rset.getString("code"));
-                country.setName(rset.getString("name"));
-                country.setContinent(rset.getString("continent"));
-                country.setRegion(rset.getString("region"));
-                country.setSurfaceArea(rset.getFloat("surfaceArea"));
-                country.setIndepYear(rset.getInt("indepYear"));
-                country.setPopulation(rset.getInt("population"));
-                country.setLifeExpectancy(rset.getFloat("lifeExpectancy"));
-                country.setGnp(rset.getFloat("gnp"));
-                country.setGnpOld(rset.getFloat("gnpOld"));
-                country.setLocalName(rset.getString("localName"));
-                country.setGovernmentForm(rset.getString("governmentForm"));
-                country.setHeadOfState(rset.getString("headOfState"));
-                country.setCapital(rset.getInt("capital"));
-                // Add the Country object to the ArrayList
-                countries.add(country);
-            }
-
-            // Print the top N populated countries
-            printCountries(countries);
-
-        } catch (Exception e) {
-            // Print error messages in case of an exception
-            System.out.println(e.getMessage());
-            System.out.println("Failed to get top populated countries");
-        }
+        displayTopPopulatedCountries(topN, Scope.WORLD, null);
     }
 
     /**
@@ -447,55 +672,7 @@ public class App
      * @param continent The continent to filter countries.
      */
     public void displayTopPopulatedCountriesInContinent(int topN, String continent) {
-        try {
-            // Create an SQL statement
-            Statement stmt = con.createStatement();
-
-            // Create string for SQL statement
-            String strSelect =
-                    "SELECT code, name, continent, region, surfaceArea, indepYear, " +
-                            "population, lifeExpectancy, gnp, gnpOld, localName, " +
-                            "governmentForm, headOfState, capital " +
-                            "FROM country " +
-                            "WHERE continent = '" + continent + "' " +
-                            "ORDER BY population DESC " +
-                            "LIMIT " + topN;
-
-            // Execute SQL statement
-            ResultSet rset = stmt.executeQuery(strSelect);
-
-            // Extract country information
-            ArrayList<Country> countries = new ArrayList<>();
-            while (rset.next()) {
-                // Create a new Country object
-                Country country = new Country();
-                // Set country attributes from the result set
-                country.setCode(rset.getString("code"));
-                country.setName(rset.getString("name"));
-                country.setContinent(rset.getString("continent"));
-                country.setRegion(rset.getString("region"));
-                country.setSurfaceArea(rset.getFloat("surfaceArea"));
-                country.setIndepYear(rset.getInt("indepYear"));
-                country.setPopulation(rset.getInt("population"));
-                country.setLifeExpectancy(rset.getFloat("lifeExpectancy"));
-                country.setGnp(rset.getFloat("gnp"));
-                country.setGnpOld(rset.getFloat("gnpOld"));
-                country.setLocalName(rset.getString("localName"));
-                country.setGovernmentForm(rset.getString("governmentForm"));
-                country.setHeadOfState(rset.getString("headOfState"));
-                country.setCapital(rset.getInt("capital"));
-                // Add the Country object to the ArrayList
-                countries.add(country);
-            }
-
-            // Print the top N populated countries in the specified continent
-            printCountries(countries);
-
-        } catch (Exception e) {
-            // Print error messages in case of an exception
-            System.out.println(e.getMessage());
-            System.out.println("Failed to get top populated countries in the continent");
-        }
+        displayTopPopulatedCountries(topN, Scope.CONTINENT, continent);
     }
 
     /**
@@ -506,54 +683,7 @@ public class App
      * @param region The region to filter countries.
      */
     public void displayTopPopulatedCountriesInRegion(int topN, String region) {
-        try {
-            // Create an SQL statement
-            Statement stmt = con.createStatement();
-
-            // Create string for SQL statement
-            String strSelect =
-                    "SELECT code, name, continent, region, surfaceArea, indepYear, " +
-                            "population, lifeExpectancy, gnp, gnpOld, localName, " +
-                            "governmentForm, headOfState, capital " +
-                            "FROM country " +
-                            "WHERE region = '" + region + "' " +
-                            "ORDER BY population DESC " +
-                            "LIMIT " + topN;
-
-            // Execute SQL statement
-            ResultSet rset = stmt.executeQuery(strSelect);
-
-            // Extract country information
-            ArrayList<Country> countries = new ArrayList<>();
-            while (rset.next()) {
-                // Create a new Country object
-                Country country = new Country();
-                country.setCode(rset.getString("code"));
-                country.setName(rset.getString("name"));
-                country.setContinent(rset.getString("continent"));
-                country.setRegion(rset.getString("region"));
-                country.setSurfaceArea(rset.getFloat("surfaceArea"));
-                country.setIndepYear(rset.getInt("indepYear"));
-                country.setPopulation(rset.getInt("population"));
-                country.setLifeExpectancy(rset.getFloat("lifeExpectancy"));
-                country.setGnp(rset.getFloat("gnp"));
-                country.setGnpOld(rset.getFloat("gnpOld"));
-                country.setLocalName(rset.getString("localName"));
-                country.setGovernmentForm(rset.getString("governmentForm"));
-                country.setHeadOfState(rset.getString("headOfState"));
-                country.setCapital(rset.getInt("capital"));
-                // Add the Country object to the ArrayList
-                countries.add(country);
-            }
-
-            // Print the top N populated countries in the specified region
-            printCountries(countries);
-
-        } catch (Exception e) {
-            // Print error messages in case of an exception
-            System.out.println(e.getMessage());
-            System.out.println("Failed to get top populated countries in the region");
-        }
+        displayTopPopulatedCountries(topN, Scope.REGION, region);
     }
 
     /**
@@ -564,41 +694,7 @@ public class App
      *         ordered by population in descending order.
      */
     public ArrayList<City> getAllCities() {
-        try {
-            // Create an SQL statement
-            Statement stmt = con.createStatement();
-
-            // Create string for SQL statement
-            String strSelect =
-                    "SELECT city.ID, city.Name AS cityName, country.Name AS countryName, city.District, city.Population " +
-                            "FROM city " +
-                            "JOIN country ON city.CountryCode = country.Code " +
-                            "ORDER BY city.Population DESC";
-
-            // Execute SQL statement
-            ResultSet rset = stmt.executeQuery(strSelect);
-
-            // Extract city information
-            ArrayList<City> cities = new ArrayList<>();
-            while (rset.next()) {
-                // Create a new City object
-                City city = new City();
-                // Set city attributes from the result set
-                city.setId(rset.getInt("ID"));
-                city.setName(rset.getString("cityName"));
-                city.setCountryCode(rset.getString("countryName"));
-                city.setDistrict(rset.getString("District"));
-                city.setPopulation(rset.getInt("Population"));
-                // Add the City object to the ArrayList
-                cities.add(city);
-            }
-            return cities;
-        } catch (Exception e) {
-            // Print error messages in case of an exception
-            System.out.println(e.getMessage());
-            System.out.println("Failed to get city details");
-            return null;
-        }
+        return run(ReportQuery.cities().build());
     }
 
     /**
@@ -611,42 +707,477 @@ public class App
      *         continent, ordered by population in descending order.
      */
     public ArrayList<City> getCitiesByContinent(String continent) {
-        try {
-            // Create an SQL statement
-            Statement stmt = con.createStatement();
-
-            // Create string for SQL statement
-            String strSelect =
-                    "SELECT city.ID, city.Name AS cityName, country.Name AS countryName, city.District, city.Population " +
-                            "FROM city " +
-                            "JOIN country ON city.CountryCode = country.Code " +
-                            "WHERE country.Continent = '" + continent + "' " +
-                            "ORDER BY city.Population DESC";
-
-            // Execute SQL statement
-            ResultSet rset = stmt.executeQuery(strSelect);
-
-            // Extract city information
-            ArrayList<City> cities = new ArrayList<>();
-            while (rset.next()) {
-                // Create a new City object
-                City city = new City();
-                // Set city attributes from the result set
-                city.setId(rset.getInt("ID"));
-                city.setName(rset.getString("cityName"));
-                city.setCountryCode(rset.getString("countryName"));
-                city.setDistrict(rset.getString("District"));
-                city.setPopulation(rset.getInt("Population"));
-                // Add the City object to the ArrayList
-                cities.add(city);
+        return run(ReportQuery.cities().in(Scope.CONTINENT, continent).build());
+    }
+
+    /**
+     * Runs a report. It is answered from the snapshot when one is loaded,
+     * and from the database otherwise. Each shape of report is compiled
+     * once per backend into a plan, a scan of the snapshot's ranked lists
+     * or a parameterised query, which later reports of that shape reuse.
+     * Keys are matched exactly against the snapshot, case included, while
+     * MySQL ignores case; rows from the snapshot are read-only.
+     *
+     * @param report The report to run.
+     * @param <T>    The type of the rows.
+     * @return A new list of rows, or null if the query failed.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ArrayList<T> run(ReportQuery<T> report) {
+        // Answer from the snapshot when one is loaded
+        WorldSnapshot current = snapshot;
+        if (current != null) {
+            List<?> rows = planner.scanPlan(report).scan(current, report.getKey(), report.getTopN());
+            return new ArrayList<>((List<T>) rows);
+        }
+
+        // Run the query, or take its result from the cache
+        ReportPlanner.SqlPlan plan = planner.sqlPlan(report);
+        return (ArrayList<T>) query(plan.getName(), plan.getSql(), plan.getMapper(),
+                "Failed to get " + report, plan.parameters(report));
+    }
+
+    /**
+     * Retrieves one page of the countries within a scope, ordered by
+     * population in descending order and then by code. Pages are found by
+     * the (population, code) of the last row of the previous page rather
+     * than by an offset, so any page costs the same as the first one, and
+     * rows added or removed before a page do not shift it.
+     *
+     * @param scope    The scope: WORLD, CONTINENT, REGION or COUNTRY.
+     * @param key      The name of the continent, region or country; ignored for WORLD.
+     * @param pageSize The number of countries per page.
+     * @param token    The token of the previous page, or null for the first page.
+     * @return The page, or null if the query failed.
+     * @throws IllegalArgumentException If the scope, page size or token is invalid.
+     */
+    public Page<Country> getCountryPage(Scope scope, String key, int pageSize, String token) {
+        String column = ReportPlanner.countryScopeColumn(scope);
+        if (pageSize < 1 || pageSize > Page.MAX_SIZE) {
+            throw new IllegalArgumentException("The page size must be from 1 to " + Page.MAX_SIZE);
+        }
+        PageToken after = PageToken.decodeCountry(token);
+
+        // Answer from the snapshot when one is loaded; one more row tells whether a next page exists
+        WorldSnapshot current = snapshot;
+        if (current != null) {
+            return Page.of(current.countriesAfter(scope, key, after, pageSize + 1), pageSize, PageToken::of);
+        }
+
+        // Narrow down to the scope and start after the previous page; values are bound as parameters
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (column != null) {
+            conditions.add(column + " = ?");
+            parameters.add(key);
+        }
+        if (after != null) {
+            // The first condition lets an index on population range-scan from the previous page
+            conditions.add("population <= ? AND (population < ? OR code > ?)");
+            parameters.add(after.getPopulation());
+            parameters.add(after.getPopulation());
+            parameters.add(after.getCode());
+        }
+        parameters.add(pageSize + 1);
+
+        // Create string for SQL statement; with no scope, the Population index gives the order
+        String strSelect =
+                ReportPlanner.COUNTRY_COLUMNS +
+                        (column == null ? ReportPlanner.WORLD_COUNTRY_FROM : "FROM country ") +
+                        (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ") +
+                        "ORDER BY population DESC, code " +
+                        "LIMIT ?";
+
+        // Run the query, or take its result from the cache
+        ArrayList<Country> countries = query("getCountryPage", strSelect, CountryMapper.INSTANCE,
+                "Failed to get a page of country details", parameters.toArray());
+        return countries == null ? null : Page.of(countries, pageSize, PageToken::of);
+    }
+
+    /**
+     * Retrieves one page of the cities within a scope, along with their
+     * respective country names, ordered by population in descending order
+     * and then by ID. Pages are found by the (population, ID) of the last
+     * row of the previous page rather than by an offset, so any page costs
+     * the same as the first one, and rows added or removed before a page do
+     * not shift it.
+     *
+     * @param scope    The scope: WORLD, CONTINENT, REGION, COUNTRY or DISTRICT.
+     * @param key      The name of the continent, region, country or district; ignored for WORLD.
+     * @param pageSize The number of cities per page.
+     * @param token    The token of the previous page, or null for the first page.
+     * @return The page, or null if the query failed.
+     * @throws IllegalArgumentException If the scope, page size or token is invalid.
+     */
+    public Page<City> getCityPage(Scope scope, String key, int pageSize, String token) {
+        String column = ReportPlanner.cityScopeColumn(scope);
+        if (pageSize < 1 || pageSize > Page.MAX_SIZE) {
+            throw new IllegalArgumentException("The page size must be from 1 to " + Page.MAX_SIZE);
+        }
+        PageToken after = PageToken.decodeCity(token);
+
+        // Answer from the snapshot when one is loaded; one more row tells whether a next page exists
+        WorldSnapshot current = snapshot;
+        if (current != null) {
+            return Page.of(current.cityRowsAfter(scope, key, after, pageSize + 1), pageSize, PageToken::of);
+        }
+
+        // Narrow down to the scope and start after the previous page; values are bound as parameters
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (column != null) {
+            conditions.add(column + " = ?");
+            parameters.add(key);
+        }
+        if (after != null) {
+            // The first condition lets an index on population range-scan from the previous page
+            conditions.add("city.Population <= ? AND (city.Population < ? OR city.ID > ?)");
+            parameters.add(after.getPopulation());
+            parameters.add(after.getPopulation());
+            parameters.add(after.getId());
+        }
+        parameters.add(pageSize + 1);
+
+        // Create string for SQL statement; a city index gives the order, except for scopes on a country column
+        String strSelect =
+                ReportPlanner.CITY_COLUMNS +
+                        ReportPlanner.cityFrom(scope) +
+                        (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ") +
+                        "ORDER BY city.Population DESC, city.ID " +
+                        "LIMIT ?";
+
+        // Run the query, or take its result from the cache
+        ArrayList<City> cities = query("getCityPage", strSelect, CityMapper.JOINED,
+                "Failed to get a page of city details", parameters.toArray());
+        return cities == null ? null : Page.of(cities, pageSize, PageToken::of);
+    }
+
+    /**
+     * Runs a query and maps its rows, or returns a copy of the rows cached
+     * by an earlier call with the same SQL and parameters. Concurrent calls
+     * for the same query share one database round trip. The time of each
+     * run is recorded in the metrics under the given name.
+     *
+     * @param name       The name the query is recorded under.
+     * @param strSelect  The query to run.
+     * @param mapper     Maps each row of the result.
+     * @param failure    The message to print if the query fails.
+     * @param parameters The values of the query parameters, in order.
+     * @return A new list of rows, or null if the query failed.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> ArrayList<T> query(String name, String strSelect, RowMapper<T> mapper, String failure,
+                                   Object... parameters) {
+        QueryMetrics m = metrics.get(name);
+        QueryListener listener = queryListener;
+        if (listener != null) {
+            listener.query(name, strSelect, parameters);
+        }
+
+        // Key the result by query and parameters
+        List<Object> key = new ArrayList<>(parameters.length + 1);
+        key.add(strSelect);
+        key.addAll(Arrays.asList(parameters));
+
+        boolean[] loaded = {false};
+        List<?> rows = resultCache.get(key, () -> {
+            loaded[0] = true;
+            long start = System.nanoTime();
+            // Borrow a connection and prepare the statement; both are returned when done
+            try (Connection con = pool.getConnection();
+                 PreparedStatement stmt = con.prepareStatement(strSelect)) {
+                long connected = System.nanoTime();
+                m.recordConnect(connected - start);
+
+                // Bind the query parameters
+                for (int i = 0; i < parameters.length; i++) {
+                    stmt.setObject(i + 1, parameters[i]);
+                }
+
+                // Execute SQL statement and extract the rows
+                try (ResultSet rset = stmt.executeQuery()) {
+                    m.recordExecute(System.nanoTime() - connected);
+                    ArrayList<T> result = mapper.mapAll(rset, m);
+                    m.recordRun(System.nanoTime() - start, result.size());
+                    return result;
+                }
+            } catch (Exception e) {
+                m.recordError();
+                // Print error messages in case of an exception
+                System.out.println(e.getMessage());
+                System.out.println(failure);
+                // Cache nothing in case of an exception
+                return null;
+            }
+        });
+        if (!loaded[0]) {
+            m.recordCacheHit();
+        }
+        return rows == null ? null : new ArrayList<>((List<T>) rows);
+    }
+
+    /**
+     * Streams all cities ordered by population in descending order, along
+     * with their respective country names, to the given handler. Rows are
+     * handed over as they arrive from the database, so memory use does not
+     * grow with the number of cities and the first row can be used before
+     * the query has finished.
+     *
+     * @param handler Receives each city in order.
+     * @return The number of cities streamed, or -1 if the query failed.
+     */
+    public int streamAllCities(Consumer<City> handler) {
+        // Answer from the snapshot when one is loaded; read it once, the refresher may replace it
+        WorldSnapshot current = snapshot;
+        if (current != null) {
+            List<City> cities = current.getCityRows();
+            cities.forEach(handler);
+            return cities.size();
+        }
+
+        // Create string for SQL statement; the Population index gives the order, so rows stream at once
+        String strSelect =
+                ReportPlanner.CITY_COLUMNS +
+                        ReportPlanner.WORLD_CITY_FROM +
+                        "ORDER BY city.Population DESC, city.ID";
+
+        return streamCities("streamAllCities", strSelect, null, handler, "Failed to stream city details");
+    }
+
+    /**
+     * Streams the cities of the specified continent ordered by population in
+     * descending order, along with their respective country names, to the
+     * given handler as they arrive from the database.
+     *
+     * @param continent The continent to filter cities.
+     * @param handler   Receives each city in order.
+     * @return The number of cities streamed, or -1 if the query failed.
+     */
+    public int streamCitiesByContinent(String continent, Consumer<City> handler) {
+        // Answer from the snapshot when one is loaded
+        WorldSnapshot current = snapshot;
+        if (current != null) {
+            List<City> cities = current.getCityRowsByContinent(continent);
+            cities.forEach(handler);
+            return cities.size();
+        }
+
+        // Create string for SQL statement; the continent is bound as a parameter. The cities of
+        // the continent are joined and sorted, which reads only those cities
+        String strSelect =
+                ReportPlanner.CITY_COLUMNS +
+                        ReportPlanner.cityFrom(Scope.CONTINENT) +
+                        "WHERE country.Continent = ? " +
+                        "ORDER BY city.Population DESC, city.ID";
+
+        return streamCities("streamCitiesByContinent", strSelect, continent, handler,
+                "Failed to stream city details by continent");
+    }
+
+    /**
+     * Runs a city query with a streaming result set and hands each row to the handler.
+     *
+     * @param name      The name the query is recorded under.
+     * @param strSelect The query to run.
+     * @param parameter The value of its only parameter, or null if it has none.
+     * @param handler   Receives each city in order.
+     * @param failure   The message to print if the query fails.
+     * @return The number of cities streamed, or -1 if the query failed.
+     */
+    private int streamCities(String name, String strSelect, String parameter, Consumer<City> handler,
+                             String failure) {
+        QueryMetrics m = metrics.get(name);
+        QueryListener listener = queryListener;
+        if (listener != null) {
+            listener.query(name, strSelect, parameter == null ? new Object[0] : new Object[]{parameter});
+        }
+        long start = System.nanoTime();
+        // Borrow a connection and prepare a forward-only, read-only statement
+        try (Connection con = pool.getConnection();
+             PreparedStatement stmt = con.prepareStatement(strSelect,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            long connected = System.nanoTime();
+            m.recordConnect(connected - start);
+
+            // Ask MySQL Connector/J to stream rows one by one instead of buffering the result
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            if (parameter != null) {
+                stmt.setString(1, parameter);
+            }
+
+            // Execute SQL statement and hand over each row as it is read
+            try (ResultSet rset = stmt.executeQuery()) {
+                m.recordExecute(System.nanoTime() - connected);
+                int count = CityMapper.JOINED.forEach(rset, handler);
+                m.recordRun(System.nanoTime() - start, count);
+                return count;
             }
-            return cities;
         } catch (Exception e) {
+            m.recordError();
             // Print error messages in case of an exception
             System.out.println(e.getMessage());
-            System.out.println("Failed to get city details by continent");
-            return null;
+            System.out.println(failure);
+            return -1;
+        }
+    }
+
+    /**
+     * Displays the top N populated cities within a scope: the world, a
+     * continent, a region, a country or a district.
+     *
+     * @param topN  The number of top populated cities to display.
+     * @param scope The scope to rank cities in.
+     * @param key   The name of the continent, region, country or district; ignored for WORLD.
+     */
+    public void displayTopPopulatedCities(int topN, Scope scope, String key) {
+        ArrayList<City> cities = run(ReportQuery.cities().in(scope, key).top(topN).build());
+        if (cities != null) {
+            printCities(cities);
+        }
+    }
+
+    /**
+     * Displays the top N populated countries within a scope: the world, a
+     * continent, a region or a country.
+     *
+     * @param topN  The number of top populated countries to display.
+     * @param scope The scope to rank countries in.
+     * @param key   The name of the continent, region or country; ignored for WORLD.
+     */
+    public void displayTopPopulatedCountries(int topN, Scope scope, String key) {
+        ArrayList<Country> countries = run(ReportQuery.countries().in(scope, key).top(topN).build());
+        if (countries != null) {
+            printCountries(countries);
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Gets the capital cities within the world, a continent or a region,
+     * sorted by population in descending order.
+     *
+     * @param scope The scope: WORLD, CONTINENT or REGION.
+     * @param key   The name of the continent or region; ignored for WORLD.
+     * @return A list of capitals with the country name in place of the country code, or null if the query failed.
+     */
+    public ArrayList<City> getCapitals(Scope scope, String key) {
+        return run(ReportQuery.capitals().in(scope, key).build());
+    }
+
+    /**
+     * Displays the top N populated capital cities within the world, a
+     * continent or a region.
+     *
+     * @param topN  The number of top populated capitals to display.
+     * @param scope The scope: WORLD, CONTINENT or REGION.
+     * @param key   The name of the continent or region; ignored for WORLD.
+     */
+    public void displayTopPopulatedCapitals(int topN, Scope scope, String key) {
+        ArrayList<City> capitals = run(ReportQuery.capitals().in(scope, key).top(topN).build());
+        if (capitals != null) {
+            printCapitals(capitals);
+        }
+    }
+
+    /**
+     * Displays the population of one place, with how many people live in
+     * its cities and how many do not. The answer comes from the in-memory
+     * snapshot, which is loaded first if it is not yet.
+     *
+     * @param scope The level of the place.
+     * @param name  The name of the place; ignored for WORLD.
+     */
+    public void displayPopulation(Scope scope, String name) {
+        WorldSnapshot current = snapshotOrLoad();
+        PopulationRollup.Node node = current == null ? null : current.getPopulationRollup().get(scope, name);
+        if (node == null) {
+            System.out.println("Failed to get population of " + name);
+            return;
+        }
+
+        long start = System.nanoTime();
+        TableRenderer renderer = renderer();
+        renderer.populationHeader();
+        renderer.population(node);
+        renderer.flush();
+        metrics.get("displayPopulation").recordRender(System.nanoTime() - start);
+    }
+
+    /**
+     * Displays the population of every place of a level, such as every
+     * continent, region or country, with how many people live in cities and
+     * how many do not, most populated first.
+     *
+     * @param scope The level to report.
+     */
+    public void displayPopulationReport(Scope scope) {
+        WorldSnapshot current = snapshotOrLoad();
+        if (current == null) {
+            System.out.println("Failed to get population report");
+            return;
+        }
+
+        long start = System.nanoTime();
+        TableRenderer renderer = renderer();
+        renderer.populationHeader();
+        for (PopulationRollup.Node node : current.getPopulationRollup().getAll(scope)) {
+            renderer.population(node);
+        }
+        renderer.flush();
+        metrics.get("displayPopulationReport").recordRender(System.nanoTime() - start);
+    }
+
+    /**
+     * Displays how many people in the world speak each of the given
+     * languages and what share of the world population they are, most
+     * spoken first. The answer comes from the in-memory snapshot, which is
+     * loaded first if it is not yet.
+     *
+     * @param languages The names of the languages to count.
+     */
+    public void displayLanguageSpeakers(String... languages) {
+        WorldSnapshot current = snapshotOrLoad();
+        if (current == null) {
+            System.out.println("Failed to get language speakers");
+            return;
+        }
+
+        long start = System.nanoTime();
+        TableRenderer renderer = renderer();
+        renderer.languageHeader();
+        for (LanguageSpeakers speakers : current.getLanguageTable().speakers(Arrays.asList(languages))) {
+            renderer.language(speakers);
+        }
+        renderer.flush();
+        metrics.get("displayLanguageSpeakers").recordRender(System.nanoTime() - start);
+    }
+
+    /**
+     * Get the snapshot in use, loading it from the database first if there
+     * is none. The snapshot is read once, so a caller works on one version
+     * even if the refresher replaces it meanwhile.
+     */
+    private WorldSnapshot snapshotOrLoad() {
+        WorldSnapshot current = snapshot;
+        if (current == null) {
+            loadSnapshot();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * Is told about each database query App runs.
+     */
+    @FunctionalInterface
+    public interface QueryListener {
+
+        /**
+         * Called before a query runs.
+         *
+         * @param name       The name the query is recorded under in the metrics.
+         * @param sql        The query.
+         * @param parameters The values of its parameters, in order.
+         */
+        void query(String name, String sql, Object[] parameters);
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the city table, or of city queries joined to country, to
+ * {@link City} objects.
+ */
+public class CityMapper extends RowMapper<City> {
+
+    /**
+     * Mapper for plain rows of the city table.
+     */
+    public static final CityMapper TABLE = new CityMapper("ID", "Name", "CountryCode", "District", "Population");
+
+    /**
+     * Mapper for city rows joined to country, where the country name is
+     * selected as countryName and stored in place of the country code.
+     */
+    public static final CityMapper JOINED = new CityMapper("ID", "cityName", "countryName", "District", "Population");
+
+    // Positions of the columns in the array returned by resolve.
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int COUNTRY = 2;
+    private static final int DISTRICT = 3;
+    private static final int POPULATION = 4;
+
+    /**
+     * Creates a mapper reading the given columns.
+     *
+     * @param id         Label of the city ID column.
+     * @param name       Label of the city name column.
+     * @param country    Label of the column stored as the country code.
+     * @param district   Label of the district column.
+     * @param population Label of the population column.
+     */
+    public CityMapper(String id, String name, String country, String district, String population) {
+        super(id, name, country, district, population);
+    }
+
+    @Override
+    public City mapRow(ResultSet rset, int[] cols) throws SQLException {
+        City city = new City();
+        city.setId(rset.getInt(cols[ID]));
+        city.setName(rset.getString(cols[NAME]));
+        city.setCountryCode(rset.getString(cols[COUNTRY]));
+        city.setDistrict(rset.getString(cols[DISTRICT]));
+        city.setPopulation(rset.getInt(cols[POPULATION]));
+        return city;
+    }
+}
@@ -0,0 +1,557 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * The city table stored column by column, for city sets of millions of
+ * rows where one {@link City} object per row would cost more in object
+ * headers and String copies than the data itself.
+ * <p>
+ * Each row is a position in primitive arrays of IDs, populations, country
+ * indexes and name and district references. Names and districts are UTF-8
+ * in one direct buffer outside the Java heap, each prefixed with its length;
+ * a district shared by many cities is stored once. A country index is the
+ * position of the country in the list the table was built with.
+ * <p>
+ * Filtering and sorting work on arrays of row numbers and create no City
+ * objects; {@link #getCity(int)} and {@link #getJoinedCity(int)} decode one
+ * row for callers that need one. A table is immutable once built, reads
+ * only by absolute position, and can be shared between threads. The arena
+ * holds at most 2 GB, about 50 million cities.
+ */
+public final class CityTable {
+
+    // Longest name or district, in UTF-8 bytes, that fits the length prefix.
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    // Countries the country indexes refer to.
+    private final List<Country> countries;
+
+    // Number of rows.
+    private final int size;
+
+    // City ID of each row.
+    private final int[] ids;
+
+    // Population of each row.
+    private final int[] population;
+
+    // Index of the country of each row.
+    private final int[] countryIndex;
+
+    // Position of the name of each row in the arena.
+    private final int[] nameRef;
+
+    // Position of the district of each row in the arena.
+    private final int[] districtRef;
+
+    // Length-prefixed UTF-8 names and districts, outside the Java heap.
+    private final ByteBuffer arena;
+
+    // Position of each distinct district in the arena.
+    private final Map<String, Integer> districts;
+
+    private CityTable(Builder builder) {
+        this.countries = builder.countries;
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.population = Arrays.copyOf(builder.population, size);
+        this.countryIndex = Arrays.copyOf(builder.countryIndex, size);
+        this.nameRef = Arrays.copyOf(builder.nameRef, size);
+        this.districtRef = Arrays.copyOf(builder.districtRef, size);
+        ByteBuffer trimmed = ByteBuffer.allocateDirect(builder.arena.position());
+        trimmed.put(builder.arena.flip());
+        this.arena = trimmed.flip().asReadOnlyBuffer();
+        this.districts = Collections.unmodifiableMap(new HashMap<>(builder.districts));
+    }
+
+    /**
+     * Builds a table from City rows holding their country code, such as
+     * those of the city table or of a {@link WorldSnapshot}.
+     *
+     * @param countries All countries.
+     * @param cities    The cities; those of unknown countries are left out.
+     * @return The table, in the order of the cities.
+     */
+    public static CityTable of(List<Country> countries, List<City> cities) {
+        Map<String, Integer> indexByCode = new HashMap<>(countries.size() * 2);
+        for (int i = 0; i < countries.size(); i++) {
+            indexByCode.put(countries.get(i).getCode(), i);
+        }
+
+        Builder builder = new Builder(countries, cities.size());
+        for (City city : cities) {
+            Integer country = indexByCode.get(city.getCountryCode());
+            if (country != null) {
+                builder.add(city.getId(), city.getName(), country, city.getDistrict(), city.getPopulation());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get the number of rows.
+     *
+     * @return The number of cities.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the countries the country indexes refer to.
+     *
+     * @return The countries.
+     */
+    public List<Country> getCountries() {
+        return countries;
+    }
+
+    /**
+     * Get the ID of a city.
+     *
+     * @param row The row.
+     * @return The city ID.
+     */
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    /**
+     * Get the population of a city.
+     *
+     * @param row The row.
+     * @return The population.
+     */
+    public int getPopulation(int row) {
+        return population[row];
+    }
+
+    /**
+     * Get the index of the country of a city.
+     *
+     * @param row The row.
+     * @return The position of the country in {@link #getCountries()}.
+     */
+    public int getCountryIndex(int row) {
+        return countryIndex[row];
+    }
+
+    /**
+     * Get the country of a city.
+     *
+     * @param row The row.
+     * @return The country.
+     */
+    public Country getCountry(int row) {
+        return countries.get(countryIndex[row]);
+    }
+
+    /**
+     * Get the name of a city, decoded from the arena.
+     *
+     * @param row The row.
+     * @return The name.
+     */
+    public String getName(int row) {
+        return decode(nameRef[row]);
+    }
+
+    /**
+     * Get the district of a city, decoded from the arena.
+     *
+     * @param row The row.
+     * @return The district.
+     */
+    public String getDistrict(int row) {
+        return decode(districtRef[row]);
+    }
+
+    /**
+     * Get the number of bytes the names and districts take outside the heap.
+     *
+     * @return The size of the arena.
+     */
+    public int getArenaBytes() {
+        return arena.capacity();
+    }
+
+    /**
+     * Get every row number, in table order.
+     *
+     * @return The rows 0 to size - 1.
+     */
+    public int[] rows() {
+        int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Get the rows that pass a test, in table order.
+     *
+     * @param test Tests a row number.
+     * @return The rows passing the test.
+     */
+    public int[] filter(IntPredicate test) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (test.test(row)) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Get the rows whose country passes a test, in table order. Each
+     * country is tested once, not once per city.
+     *
+     * @param test Tests a country.
+     * @return The rows of the countries passing the test.
+     */
+    public int[] filterByCountry(Predicate<Country> test) {
+        boolean[] pass = new boolean[countries.size()];
+        for (int i = 0; i < pass.length; i++) {
+            pass[i] = test.test(countries.get(i));
+        }
+        return filter(row -> pass[countryIndex[row]]);
+    }
+
+    /**
+     * Get the rows of a district, in table order. The district is found
+     * once and rows are compared by arena position, without decoding.
+     *
+     * @param district The name of the district.
+     * @return The rows of the district; none if it is unknown.
+     */
+    public int[] filterByDistrict(String district) {
+        Integer ref = districts.get(district);
+        if (ref == null) {
+            return new int[0];
+        }
+        int target = ref;
+        return filter(row -> districtRef[row] == target);
+    }
+
+    /**
+     * Sorts rows by population, largest first; rows of equal population
+     * keep their order.
+     *
+     * @param rows The rows to sort; not changed.
+     * @return The rows, sorted.
+     */
+    public int[] sortByPopulation(int[] rows) {
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            keys[i] = key(i, rows[i]);
+        }
+        Arrays.sort(keys);
+
+        int[] sorted = new int[rows.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = rows[(int) keys[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * Get the N most populated of the given rows, largest first, without
+     * sorting them all.
+     *
+     * @param rows The rows to choose from; not changed.
+     * @param n    The number of rows wanted.
+     * @return At most n rows, sorted by population.
+     */
+    public int[] topByPopulation(int[] rows, int n) {
+        if (n <= 0) {
+            return new int[0];
+        }
+        if (n >= rows.length) {
+            return sortByPopulation(rows);
+        }
+
+        // Keep the n best keys seen in a heap with the worst of them at the top
+        long[] heap = new long[n];
+        for (int i = 0; i < n; i++) {
+            heap[i] = key(i, rows[i]);
+            siftUp(heap, i);
+        }
+        for (int i = n; i < rows.length; i++) {
+            long key = key(i, rows[i]);
+            if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(heap, n);
+            }
+        }
+
+        Arrays.sort(heap);
+        int[] top = new int[n];
+        for (int i = 0; i < n; i++) {
+            top[i] = rows[(int) heap[i]];
+        }
+        return top;
+    }
+
+    /**
+     * Get the total population of the given rows.
+     *
+     * @param rows The rows to add up.
+     * @return The sum of their populations.
+     */
+    public long totalPopulation(int[] rows) {
+        long total = 0;
+        for (int row : rows) {
+            total += population[row];
+        }
+        return total;
+    }
+
+    /**
+     * Decodes a row into a {@link City} holding its country code.
+     *
+     * @param row The row.
+     * @return A new City.
+     */
+    public City getCity(int row) {
+        return toCity(row, getCountry(row).getCode());
+    }
+
+    /**
+     * Decodes a row into a {@link City} holding its country name in place
+     * of the country code, as the city reports print it.
+     *
+     * @param row The row.
+     * @return A new City.
+     */
+    public City getJoinedCity(int row) {
+        return toCity(row, getCountry(row).getName());
+    }
+
+    /**
+     * Decodes rows into Cities holding their country name, for printing
+     * with {@link App#printCities(ArrayList)}.
+     *
+     * @param rows The rows.
+     * @return New Cities, in the order of the rows.
+     */
+    public ArrayList<City> getJoinedCities(int[] rows) {
+        ArrayList<City> cities = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            cities.add(getJoinedCity(row));
+        }
+        return cities;
+    }
+
+    /**
+     * Decodes a row with the given text in the country column.
+     */
+    private City toCity(int row, String country) {
+        City city = new City();
+        city.setId(ids[row]);
+        city.setName(getName(row));
+        city.setCountryCode(country);
+        city.setDistrict(getDistrict(row));
+        city.setPopulation(population[row]);
+        return city;
+    }
+
+    /**
+     * Builds a sort key that orders by population, largest first, then by
+     * position; the position is in the low 32 bits.
+     */
+    private long key(int position, int row) {
+        return ((long) (Integer.MAX_VALUE - population[row]) << 32) | position;
+    }
+
+    /**
+     * Moves the key at a position of a max-heap up to its place.
+     */
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= heap[i]) {
+                return;
+            }
+            long swap = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = swap;
+            i = parent;
+        }
+    }
+
+    /**
+     * Moves the key at the top of a max-heap of the given size down to its place.
+     */
+    private static void siftDown(long[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (heap[i] >= heap[child]) {
+                return;
+            }
+            long swap = heap[child];
+            heap[child] = heap[i];
+            heap[i] = swap;
+            i = child;
+        }
+    }
+
+    /**
+     * Decodes the length-prefixed string at a position of the arena.
+     */
+    private String decode(int ref) {
+        int length = arena.getShort(ref) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        arena.get(ref + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Adds cities to a table one by one, growing its arrays and its arena
+     * as needed, so rows can be appended while they are read from a large
+     * file or result set.
+     */
+    public static final class Builder {
+
+        // Countries the country indexes refer to.
+        private final List<Country> countries;
+
+        // Number of rows added.
+        private int size;
+
+        // City ID of each row.
+        private int[] ids;
+
+        // Population of each row.
+        private int[] population;
+
+        // Index of the country of each row.
+        private int[] countryIndex;
+
+        // Position of the name of each row in the arena.
+        private int[] nameRef;
+
+        // Position of the district of each row in the arena.
+        private int[] districtRef;
+
+        // Names and districts added so far.
+        private ByteBuffer arena;
+
+        // Position of each distinct district in the arena.
+        private final Map<String, Integer> districts = new HashMap<>();
+
+        /**
+         * Starts an empty table.
+         *
+         * @param countries The countries the country indexes refer to.
+         * @param capacity  The expected number of cities.
+         */
+        public Builder(List<Country> countries, int capacity) {
+            this.countries = countries;
+            int rows = Math.max(capacity, 16);
+            ids = new int[rows];
+            population = new int[rows];
+            countryIndex = new int[rows];
+            nameRef = new int[rows];
+            districtRef = new int[rows];
+            arena = ByteBuffer.allocateDirect(rows * 16);
+        }
+
+        /**
+         * Adds a city.
+         *
+         * @param id         The city ID.
+         * @param name       The city name.
+         * @param country    The position of its country in the country list.
+         * @param district   The district.
+         * @param population The population.
+         * @return This builder, to chain further cities.
+         * @throws IllegalArgumentException If the country index is out of
+         *                                  range or a string is too long.
+         * @throws IllegalStateException    If the arena would exceed 2 GB.
+         */
+        public Builder add(int id, String name, int country, String district, int population) {
+            if (country < 0 || country >= countries.size()) {
+                throw new IllegalArgumentException("No country at index " + country);
+            }
+            if (size == ids.length) {
+                int rows = size + (size >> 1);
+                ids = Arrays.copyOf(ids, rows);
+                this.population = Arrays.copyOf(this.population, rows);
+                countryIndex = Arrays.copyOf(countryIndex, rows);
+                nameRef = Arrays.copyOf(nameRef, rows);
+                districtRef = Arrays.copyOf(districtRef, rows);
+            }
+
+            ids[size] = id;
+            this.population[size] = population;
+            countryIndex[size] = country;
+            nameRef[size] = append(name);
+            Integer ref = districts.get(district);
+            if (ref == null) {
+                ref = append(district);
+                districts.put(district, ref);
+            }
+            districtRef[size] = ref;
+            size++;
+            return this;
+        }
+
+        /**
+         * Finishes the table. The builder should not be used afterwards.
+         *
+         * @return The table.
+         */
+        public CityTable build() {
+            return new CityTable(this);
+        }
+
+        /**
+         * Appends a length-prefixed string to the arena.
+         */
+        private int append(String s) {
+            byte[] bytes = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_STRING_BYTES) {
+                throw new IllegalArgumentException("String of " + bytes.length + " bytes is too long: " + s);
+            }
+            long needed = (long) arena.position() + 2 + bytes.length;
+            if (needed > arena.capacity()) {
+                if (needed > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("City arena is full");
+                }
+                long grown = Math.max(needed, (long) arena.capacity() * 2);
+                ByteBuffer bigger = ByteBuffer.allocateDirect((int) Math.min(grown, Integer.MAX_VALUE - 8));
+                bigger.put(arena.flip());
+                arena = bigger;
+            }
+            int ref = arena.position();
+            arena.putShort((short) bytes.length);
+            arena.put(bytes);
+            return ref;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+/**
+ * A city of a {@link CompactWorld}. It refers to its country by index and
+ * to its district by number, so cities of the same country or district
+ * share one copy of those strings instead of each holding its own.
+ */
+public class CompactCity {
+
+    // City ID.
+    private final int id;
+
+    // City name.
+    private final String name;
+
+    // Index of the country in the world.
+    private final int country;
+
+    // Number of the district in the district dictionary.
+    private final int district;
+
+    // Population of the city.
+    private final int population;
+
+    /**
+     * Encodes a city; called by {@link CompactWorld} only.
+     */
+    CompactCity(int id, String name, int country, int district, int population) {
+        this.id = id;
+        this.name = name;
+        this.country = country;
+        this.district = district;
+        this.population = population;
+    }
+
+    /**
+     * Get the city ID.
+     *
+     * @return The city ID.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get the city name.
+     *
+     * @return The city name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the index of the country in the world; see {@link CompactWorld#getCountry(CompactCity)}.
+     *
+     * @return The country index.
+     */
+    public int getCountryIndex() {
+        return country;
+    }
+
+    /**
+     * Get the number of the district in the world's district dictionary;
+     * see {@link CompactWorld#getDistrict(CompactCity)}.
+     *
+     * @return The district number.
+     */
+    public int getDistrictId() {
+        return district;
+    }
+
+    /**
+     * Get the population.
+     *
+     * @return The population.
+     */
+    public int getPopulation() {
+        return population;
+    }
+}
@@ -0,0 +1,266 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+/**
+ * A country of a {@link CompactWorld}. The continent is an enum constant,
+ * the region and the government form are numbers in the world's
+ * dictionaries, and nullable numbers are stored as primitives with a
+ * marker value instead of boxed objects.
+ */
+public class CompactCountry {
+
+    // Stored in place of a null independence year.
+    private static final short NO_YEAR = Short.MIN_VALUE;
+
+    // The world whose dictionaries the numbers refer to.
+    private final CompactWorld world;
+
+    // Position of the country in the world.
+    private final int index;
+
+    // Country code.
+    private final String code;
+
+    // Country name.
+    private final String name;
+
+    // Continent to which the country belongs.
+    private final Continent continent;
+
+    // Number of the region in the region dictionary.
+    private final short region;
+
+    // Number of the form of government in the government form dictionary.
+    private final short governmentForm;
+
+    // Year when the country gained independence, or NO_YEAR.
+    private final short indepYear;
+
+    // Population of the country.
+    private final int population;
+
+    // Total land area of the country.
+    private final float surfaceArea;
+
+    // Average life expectancy, or NaN if unknown.
+    private final float lifeExpectancy;
+
+    // Gross National Product.
+    private final float gnp;
+
+    // Old Gross National Product, or NaN if unknown.
+    private final float gnpOld;
+
+    // Local name of the country.
+    private final String localName;
+
+    // Head of state.
+    private final String headOfState;
+
+    // ID of the capital city; 0 if there is none.
+    private final int capital;
+
+    /**
+     * Encodes a country; called by {@link CompactWorld} only.
+     */
+    CompactCountry(CompactWorld world, int index, Country country, int region, int governmentForm) {
+        this.world = world;
+        this.index = index;
+        this.code = country.getCode();
+        this.name = country.getName();
+        this.continent = Continent.of(country.getContinent());
+        this.region = (short) region;
+        this.governmentForm = (short) governmentForm;
+        this.indepYear = country.getIndepYear() == null ? NO_YEAR : country.getIndepYear().shortValue();
+        this.population = country.getPopulation();
+        this.surfaceArea = country.getSurfaceArea();
+        this.lifeExpectancy = country.getLifeExpectancy() == null ? Float.NaN : country.getLifeExpectancy();
+        this.gnp = country.getGnp();
+        this.gnpOld = country.getGnpOld() == null ? Float.NaN : country.getGnpOld();
+        this.localName = country.getLocalName();
+        this.headOfState = country.getHeadOfState();
+        this.capital = country.getCapital();
+    }
+
+    /**
+     * Get the position of the country in its world, which cities use to refer to it.
+     *
+     * @return The index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the country code.
+     *
+     * @return The country code.
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Get the country name.
+     *
+     * @return The country name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the continent.
+     *
+     * @return The continent.
+     */
+    public Continent getContinent() {
+        return continent;
+    }
+
+    /**
+     * Get the number of the region in the world's region dictionary.
+     *
+     * @return The region number.
+     */
+    public int getRegionId() {
+        return region;
+    }
+
+    /**
+     * Get the region.
+     *
+     * @return The region.
+     */
+    public String getRegion() {
+        return world.getRegions().get(region);
+    }
+
+    /**
+     * Get the number of the form of government in the world's government form dictionary.
+     *
+     * @return The government form number.
+     */
+    public int getGovernmentFormId() {
+        return governmentForm;
+    }
+
+    /**
+     * Get the form of government.
+     *
+     * @return The form of government.
+     */
+    public String getGovernmentForm() {
+        return world.getGovernmentForms().get(governmentForm);
+    }
+
+    /**
+     * Get the year of independence.
+     *
+     * @return The year, or null if the country has none.
+     */
+    public Integer getIndepYear() {
+        return indepYear == NO_YEAR ? null : (int) indepYear;
+    }
+
+    /**
+     * Get the population.
+     *
+     * @return The population.
+     */
+    public int getPopulation() {
+        return population;
+    }
+
+    /**
+     * Get the surface area.
+     *
+     * @return The surface area.
+     */
+    public float getSurfaceArea() {
+        return surfaceArea;
+    }
+
+    /**
+     * Get the life expectancy.
+     *
+     * @return The life expectancy, or null if unknown.
+     */
+    public Float getLifeExpectancy() {
+        return Float.isNaN(lifeExpectancy) ? null : lifeExpectancy;
+    }
+
+    /**
+     * Get the Gross National Product.
+     *
+     * @return The GNP.
+     */
+    public float getGnp() {
+        return gnp;
+    }
+
+    /**
+     * Get the old Gross National Product.
+     *
+     * @return The old GNP, or null if unknown.
+     */
+    public Float getGnpOld() {
+        return Float.isNaN(gnpOld) ? null : gnpOld;
+    }
+
+    /**
+     * Get the local name.
+     *
+     * @return The local name.
+     */
+    public String getLocalName() {
+        return localName;
+    }
+
+    /**
+     * Get the head of state.
+     *
+     * @return The head of state.
+     */
+    public String getHeadOfState() {
+        return headOfState;
+    }
+
+    /**
+     * Get the ID of the capital city.
+     *
+     * @return The capital city ID; 0 if there is none.
+     */
+    public int getCapital() {
+        return capital;
+    }
+
+    /**
+     * Decodes the country into a {@link Country} for code that needs one,
+     * such as the table renderer.
+     *
+     * @return A new Country with the same values.
+     */
+    public Country toCountry() {
+        Country country = new Country();
+        country.setCode(code);
+        country.setName(name);
+        country.setContinent(continent.getName());
+        country.setRegion(getRegion());
+        country.setSurfaceArea(surfaceArea);
+        country.setIndepYear(getIndepYear());
+        country.setPopulation(population);
+        country.setLifeExpectancy(getLifeExpectancy());
+        country.setGnp(gnp);
+        country.setGnpOld(getGnpOld());
+        country.setLocalName(localName);
+        country.setGovernmentForm(getGovernmentForm());
+        country.setHeadOfState(headOfState);
+        country.setCapital(capital);
+        return country;
+    }
+}
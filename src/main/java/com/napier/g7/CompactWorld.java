@@ -0,0 +1,182 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A memory-compact copy of the country and city tables.
+ * <p>
+ * Rows read over JDBC each hold their own String for every column, so the
+ * same region, government form and district text is stored once per row,
+ * and cities joined to their country carry one more copy of its name. Here
+ * the continent is a {@link Continent}, regions, government forms and
+ * districts are numbered in dictionaries that keep one copy of each, and a
+ * city refers to its country by index.
+ * <p>
+ * A compact world is immutable once built and can be shared between threads.
+ */
+public final class CompactWorld {
+
+    // Countries, in the order given; a country's index is its position here.
+    private final List<CompactCountry> countries;
+
+    // Cities whose country is known, in the order given.
+    private final List<CompactCity> cities;
+
+    // Every region; numbers fit a short.
+    private final StringDictionary regions = new StringDictionary(Short.MAX_VALUE + 1);
+
+    // Every form of government; numbers fit a short.
+    private final StringDictionary governmentForms = new StringDictionary(Short.MAX_VALUE + 1);
+
+    // Every district.
+    private final StringDictionary districts = new StringDictionary(Integer.MAX_VALUE);
+
+    /**
+     * Encodes the country and city tables.
+     *
+     * @param countries All countries.
+     * @param cities    All cities, each with its country code; cities of
+     *                  unknown countries are left out.
+     * @throws IllegalArgumentException If a country has an unknown continent.
+     */
+    public CompactWorld(List<Country> countries, List<City> cities) {
+        List<CompactCountry> compactCountries = new ArrayList<>(countries.size());
+        Map<String, Integer> indexByCode = new HashMap<>(countries.size() * 2);
+        for (Country country : countries) {
+            int index = compactCountries.size();
+            compactCountries.add(new CompactCountry(this, index, country,
+                    regions.add(country.getRegion()), governmentForms.add(country.getGovernmentForm())));
+            indexByCode.put(country.getCode(), index);
+        }
+
+        List<CompactCity> compactCities = new ArrayList<>(cities.size());
+        for (City city : cities) {
+            Integer country = indexByCode.get(city.getCountryCode());
+            if (country != null) {
+                compactCities.add(new CompactCity(city.getId(), city.getName(), country,
+                        districts.add(city.getDistrict()), city.getPopulation()));
+            }
+        }
+
+        this.countries = Collections.unmodifiableList(compactCountries);
+        this.cities = Collections.unmodifiableList(compactCities);
+    }
+
+    /**
+     * Get all countries.
+     *
+     * @return The countries, in the order given.
+     */
+    public List<CompactCountry> getCountries() {
+        return countries;
+    }
+
+    /**
+     * Get all cities whose country is known.
+     *
+     * @return The cities, in the order given.
+     */
+    public List<CompactCity> getCities() {
+        return cities;
+    }
+
+    /**
+     * Get the country at an index.
+     *
+     * @param index The index of the country.
+     * @return The country.
+     */
+    public CompactCountry getCountry(int index) {
+        return countries.get(index);
+    }
+
+    /**
+     * Get the country of a city.
+     *
+     * @param city A city of this world.
+     * @return The country.
+     */
+    public CompactCountry getCountry(CompactCity city) {
+        return countries.get(city.getCountryIndex());
+    }
+
+    /**
+     * Get the district of a city.
+     *
+     * @param city A city of this world.
+     * @return The district.
+     */
+    public String getDistrict(CompactCity city) {
+        return districts.get(city.getDistrictId());
+    }
+
+    /**
+     * Get the dictionary of regions.
+     *
+     * @return The regions.
+     */
+    public StringDictionary getRegions() {
+        return regions;
+    }
+
+    /**
+     * Get the dictionary of forms of government.
+     *
+     * @return The forms of government.
+     */
+    public StringDictionary getGovernmentForms() {
+        return governmentForms;
+    }
+
+    /**
+     * Get the dictionary of districts.
+     *
+     * @return The districts.
+     */
+    public StringDictionary getDistricts() {
+        return districts;
+    }
+
+    /**
+     * Decodes a city into a {@link City} holding its country code.
+     *
+     * @param city A city of this world.
+     * @return A new City.
+     */
+    public City toCity(CompactCity city) {
+        return toCity(city, getCountry(city).getCode());
+    }
+
+    /**
+     * Decodes a city into a {@link City} holding its country name in place
+     * of the country code, as the city reports print it.
+     *
+     * @param city A city of this world.
+     * @return A new City.
+     */
+    public City toJoinedCity(CompactCity city) {
+        return toCity(city, getCountry(city).getName());
+    }
+
+    /**
+     * Decodes a city with the given text in the country column.
+     */
+    private City toCity(CompactCity compact, String country) {
+        City city = new City();
+        city.setId(compact.getId());
+        city.setName(compact.getName());
+        city.setCountryCode(country);
+        city.setDistrict(getDistrict(compact));
+        city.setPopulation(compact.getPopulation());
+        return city;
+    }
+}
@@ -0,0 +1,747 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * A bounded pool of MySQL connections that is safe to share between threads.
+ * <p>
+ * Connections handed out by {@link #getConnection()} return to the pool when
+ * they are closed. A connection that has been idle for a while is validated
+ * before it is handed out again, idle connections are closed after
+ * {@link #setIdleTimeoutMillis(long) the idle timeout}, and any statement
+ * left open when a connection is returned is reported and closed.
+ * <p>
+ * Each connection also keeps a small cache of prepared statements keyed by
+ * their SQL text, so a parameterised query prepared once is reused by every
+ * later borrower of that connection. Parameters, fetch size, row limit,
+ * query timeout and warnings a borrower set are reset before the next
+ * borrower gets the statement.
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+
+    // Connections used more recently than this are handed out without validation.
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+
+    // JDBC URL of the database.
+    private final String url;
+
+    // Database user name.
+    private final String user;
+
+    // Database password.
+    private final String password;
+
+    // Maximum number of connections open at the same time.
+    private final int maxSize;
+
+    // One permit per connection that may still be borrowed.
+    private final Semaphore permits;
+
+    // Idle connections, most recently returned first.
+    private final LinkedBlockingDeque<PhysicalConnection> idle = new LinkedBlockingDeque<>();
+
+    // Connections currently borrowed.
+    private final Set<PhysicalConnection> borrowed = ConcurrentHashMap.newKeySet();
+
+    // Background thread for idle eviction and leak detection.
+    private final ScheduledExecutorService housekeeper;
+
+    // How long getConnection waits for a free connection.
+    private volatile long borrowTimeoutMillis = 30000;
+
+    // How long a connection may stay idle before it is closed.
+    private volatile long idleTimeoutMillis = 600000;
+
+    // How long a connection may stay borrowed before it is reported as leaked.
+    private volatile long leakThresholdMillis = 60000;
+
+    // Seconds to wait for a validation round trip.
+    private volatile int validationTimeoutSeconds = 5;
+
+    // Number of prepared statements cached per connection.
+    private volatile int statementCacheSize = 64;
+
+    // Set once the pool is closed.
+    private volatile boolean closed = false;
+
+    // Pool counters.
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong leakedConnections = new AtomicLong();
+    private final AtomicLong leakedStatements = new AtomicLong();
+    private final AtomicLong leakedResultSets = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    /**
+     * Creates a pool. No connection is opened until one is borrowed.
+     *
+     * @param url      The JDBC URL of the database.
+     * @param user     The database user name.
+     * @param password The database password.
+     * @param maxSize  The maximum number of connections open at the same time.
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep, 30, 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Set how long getConnection waits for a free connection.
+     *
+     * @param borrowTimeoutMillis The wait in milliseconds.
+     */
+    public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    /**
+     * Set how long a connection may stay idle before it is closed.
+     *
+     * @param idleTimeoutMillis The idle timeout in milliseconds.
+     */
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Set how long a connection may stay borrowed before it is reported as leaked.
+     *
+     * @param leakThresholdMillis The threshold in milliseconds.
+     */
+    public void setLeakThresholdMillis(long leakThresholdMillis) {
+        this.leakThresholdMillis = leakThresholdMillis;
+    }
+
+    /**
+     * Set how long to wait for the database when validating a connection.
+     *
+     * @param validationTimeoutSeconds The timeout in seconds.
+     */
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * Set how many prepared statements each connection keeps open for reuse.
+     * Statements prepared from the same SQL text on the same connection are
+     * then parsed by the server only once. Zero turns the cache off.
+     *
+     * @param statementCacheSize The number of statements per connection.
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Get the maximum number of connections open at the same time.
+     *
+     * @return The pool size.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if none is idle.
+     * Closing the returned connection gives it back to the pool.
+     *
+     * @return A pooled connection.
+     * @throws SQLException If no connection becomes free in time or a new one cannot be opened.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", ie);
+        }
+
+        try {
+            PhysicalConnection physical = takeIdle();
+            if (physical == null) {
+                physical = new PhysicalConnection(DriverManager.getConnection(url, user, password));
+                createdCount.incrementAndGet();
+            }
+            physical.borrowedAt = System.currentTimeMillis();
+            physical.borrowSite = new Throwable("Connection borrowed here");
+            borrowed.add(physical);
+            borrowCount.incrementAndGet();
+            return physical.lend();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Not supported: the pool always uses the credentials it was created with.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connection pool uses fixed credentials");
+    }
+
+    /**
+     * Takes the most recently used idle connection that is still valid.
+     *
+     * @return An idle connection, or null if none is left.
+     */
+    private PhysicalConnection takeIdle() {
+        PhysicalConnection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            long idleFor = System.currentTimeMillis() - physical.returnedAt;
+            if (idleFor < VALIDATION_BYPASS_MILLIS || isValid(physical)) {
+                return physical;
+            }
+            validationFailures.incrementAndGet();
+            destroy(physical);
+        }
+        return null;
+    }
+
+    /**
+     * Asks the database whether a connection is still usable.
+     */
+    private boolean isValid(PhysicalConnection physical) {
+        try {
+            return physical.raw.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Takes a connection back from a borrower, closing any statement it left open.
+     */
+    private void giveBack(PhysicalConnection physical) {
+        borrowed.remove(physical);
+        boolean healthy = physical.closeLeakedStatements();
+        try {
+            if (!physical.raw.getAutoCommit()) {
+                physical.raw.rollback();
+                physical.raw.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            healthy = false;
+        }
+
+        if (closed || !healthy) {
+            destroy(physical);
+        } else {
+            physical.returnedAt = System.currentTimeMillis();
+            idle.offerFirst(physical);
+        }
+        permits.release();
+    }
+
+    /**
+     * Closes a physical connection for good.
+     */
+    private void destroy(PhysicalConnection physical) {
+        try {
+            physical.raw.close();
+        } catch (SQLException e) {
+            // Nothing more can be done with a connection that fails to close
+        }
+        destroyedCount.incrementAndGet();
+    }
+
+    /**
+     * Closes connections that have been idle too long and reports connections
+     * that have been borrowed for longer than the leak threshold.
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        Iterator<PhysicalConnection> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            PhysicalConnection physical = it.next();
+            if (now - physical.returnedAt > idleTimeoutMillis && idle.remove(physical)) {
+                evictedCount.incrementAndGet();
+                destroy(physical);
+            }
+        }
+
+        for (PhysicalConnection physical : borrowed) {
+            if (!physical.reportedLeak && now - physical.borrowedAt > leakThresholdMillis) {
+                physical.reportedLeak = true;
+                leakedConnections.incrementAndGet();
+                System.out.println("Possible connection leak: borrowed for " + (now - physical.borrowedAt) + " ms");
+                physical.borrowSite.printStackTrace(System.out);
+            }
+        }
+    }
+
+    /**
+     * Get a snapshot of the pool counters.
+     *
+     * @return The current pool metrics.
+     */
+    public PoolMetrics getMetrics() {
+        PoolMetrics metrics = new PoolMetrics();
+        metrics.setMaxSize(maxSize);
+        metrics.setActive(borrowed.size());
+        metrics.setIdle(idle.size());
+        metrics.setWaiting(permits.getQueueLength());
+        metrics.setBorrowCount(borrowCount.get());
+        metrics.setCreatedCount(createdCount.get());
+        metrics.setDestroyedCount(destroyedCount.get());
+        metrics.setEvictedCount(evictedCount.get());
+        metrics.setValidationFailures(validationFailures.get());
+        metrics.setBorrowTimeouts(borrowTimeouts.get());
+        metrics.setLeakedConnections(leakedConnections.get());
+        metrics.setLeakedStatements(leakedStatements.get());
+        metrics.setLeakedResultSets(leakedResultSets.get());
+        metrics.setStatementCacheHits(statementCacheHits.get());
+        metrics.setStatementCacheMisses(statementCacheMisses.get());
+        return metrics;
+    }
+
+    /**
+     * Closes every idle connection and stops the pool. Borrowed connections
+     * are closed when they are given back.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PhysicalConnection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            destroy(physical);
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("Connection pool does not use java.util.logging");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Connection pool does not wrap " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Calls a method on the real JDBC object, unwrapping the reflection exception.
+     */
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A real database connection owned by the pool.
+     */
+    private final class PhysicalConnection {
+
+        // The driver connection.
+        final Connection raw;
+
+        // Statements handed to the current borrower and not yet closed.
+        final Set<Statement> openStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // Prepared statements kept open between borrows, keyed by SQL text.
+        final LinkedHashMap<String, CachedStatement> statementCache =
+                new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                        if (size() <= statementCacheSize) {
+                            return false;
+                        }
+                        // Close the least recently used statement, or let its user close it
+                        CachedStatement cached = eldest.getValue();
+                        cached.evicted = true;
+                        if (!cached.inUse) {
+                            closeQuietly(cached.raw);
+                        }
+                        return true;
+                    }
+                };
+
+        // When the connection was last borrowed and returned.
+        volatile long borrowedAt;
+        volatile long returnedAt;
+
+        // Where the current borrower took the connection, for leak reports.
+        volatile Throwable borrowSite;
+
+        // Whether the current borrow has already been reported as leaked.
+        volatile boolean reportedLeak;
+
+        PhysicalConnection(Connection raw) {
+            this.raw = raw;
+        }
+
+        /**
+         * Wraps this connection for a new borrower.
+         */
+        Connection lend() {
+            reportedLeak = false;
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LentConnection(this));
+        }
+
+        /**
+         * Hands out a prepared statement for the given SQL, reusing the one
+         * prepared by an earlier borrower when there is one.
+         */
+        Object prepareCached(Connection owner, String sql) throws SQLException {
+            CachedStatement cached = statementCache.get(sql);
+            if (cached != null && !cached.inUse) {
+                statementCacheHits.incrementAndGet();
+                cached.inUse = true;
+                return track(owner, PreparedStatement.class, cached.raw, cached);
+            }
+
+            statementCacheMisses.incrementAndGet();
+            PreparedStatement stmt = raw.prepareStatement(sql);
+            if (cached != null) {
+                // The cached copy is still open by this borrower, so use a one-off statement
+                return track(owner, PreparedStatement.class, stmt, null);
+            }
+            cached = new CachedStatement(sql, stmt);
+            cached.inUse = true;
+            statementCache.put(sql, cached);
+            return track(owner, PreparedStatement.class, stmt, cached);
+        }
+
+        /**
+         * Wraps a statement so that the pool knows when it is closed.
+         */
+        Object track(Connection owner, Class<?> type, Statement stmt, CachedStatement cached) {
+            Object proxy = Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{type},
+                    new LentStatement(this, owner, stmt, cached));
+            synchronized (openStatements) {
+                openStatements.add((Statement) proxy);
+            }
+            return proxy;
+        }
+
+        /**
+         * Closes statements the borrower did not close.
+         *
+         * @return false if closing one of them failed.
+         */
+        boolean closeLeakedStatements() {
+            ArrayList<Statement> leaked;
+            synchronized (openStatements) {
+                if (openStatements.isEmpty()) {
+                    return true;
+                }
+                leaked = new ArrayList<>(openStatements);
+                openStatements.clear();
+            }
+
+            boolean healthy = true;
+            for (Statement stmt : leaked) {
+                leakedStatements.incrementAndGet();
+                try {
+                    ResultSet rset = stmt.getResultSet();
+                    if (rset != null && !rset.isClosed()) {
+                        leakedResultSets.incrementAndGet();
+                    }
+                    stmt.close();
+                } catch (SQLException e) {
+                    healthy = false;
+                }
+            }
+            System.out.println("Closed " + leaked.size() + " statement(s) left open on a returned connection");
+            return healthy;
+        }
+    }
+
+    /**
+     * A prepared statement kept open in a connection's statement cache.
+     */
+    private static final class CachedStatement {
+
+        // The SQL text the statement is cached under.
+        final String sql;
+
+        // The driver statement.
+        final PreparedStatement raw;
+
+        // Settings of the statement as prepared, restored before each reuse.
+        final int fetchSize;
+        final long maxRows;
+        final int queryTimeout;
+
+        // Whether a borrower is using the statement.
+        boolean inUse;
+
+        // Whether the statement has been dropped from the cache.
+        boolean evicted;
+
+        CachedStatement(String sql, PreparedStatement raw) throws SQLException {
+            this.sql = sql;
+            this.raw = raw;
+            this.fetchSize = raw.getFetchSize();
+            this.maxRows = raw.getLargeMaxRows();
+            this.queryTimeout = raw.getQueryTimeout();
+        }
+
+        /**
+         * Undoes what a borrower changed on the statement: parameters,
+         * fetch size, row limit, timeout and warnings.
+         */
+        void reset() throws SQLException {
+            raw.clearParameters();
+            // The row limit first; some drivers reject a fetch size above it
+            if (raw.getLargeMaxRows() != maxRows) {
+                raw.setLargeMaxRows(maxRows);
+            }
+            if (raw.getFetchSize() != fetchSize) {
+                raw.setFetchSize(fetchSize);
+            }
+            if (raw.getQueryTimeout() != queryTimeout) {
+                raw.setQueryTimeout(queryTimeout);
+            }
+            raw.clearWarnings();
+        }
+    }
+
+    /**
+     * The connection a borrower sees. Closing it returns the physical
+     * connection to the pool; it cannot be used afterwards.
+     */
+    private final class LentConnection implements InvocationHandler {
+
+        // The connection on loan, or null once it has been given back.
+        private PhysicalConnection physical;
+
+        LentConnection(PhysicalConnection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (physical != null) {
+                        PhysicalConnection returning = physical;
+                        physical = null;
+                        giveBack(returning);
+                    }
+                    return null;
+                case "isClosed":
+                    return physical == null || physical.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + (physical == null ? "[returned]" : physical.raw.toString());
+                default:
+                    break;
+            }
+
+            if (physical == null) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (name.equals("prepareStatement") && args.length == 1 && statementCacheSize > 0) {
+                return physical.prepareCached((Connection) proxy, (String) args[0]);
+            }
+            Object result = forward(physical.raw, method, args);
+            if (result instanceof Statement) {
+                return physical.track((Connection) proxy, method.getReturnType(), (Statement) result, null);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The statement a borrower sees. Closing a cached statement keeps the
+     * driver statement open for the next borrower.
+     */
+    private static final class LentStatement implements InvocationHandler {
+
+        // The connection the statement was created on.
+        private final PhysicalConnection physical;
+
+        // The connection proxy returned by getConnection().
+        private final Connection owner;
+
+        // The driver statement.
+        private final Statement stmt;
+
+        // The cache entry of the statement, or null if it is not cached.
+        private final CachedStatement cached;
+
+        // Whether the borrower has closed the statement.
+        private boolean closed;
+
+        // The last result set the statement returned.
+        private ResultSet lastResult;
+
+        LentStatement(PhysicalConnection physical, Connection owner, Statement stmt, CachedStatement cached) {
+            this.physical = physical;
+            this.owner = owner;
+            this.stmt = stmt;
+            this.cached = cached;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        synchronized (physical.openStatements) {
+                            physical.openStatements.remove(proxy);
+                        }
+                        release();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || stmt.isClosed();
+                case "getConnection":
+                    // Never hand out the physical connection
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            Object result = forward(stmt, method, args);
+            if (result instanceof ResultSet) {
+                lastResult = (ResultSet) result;
+            }
+            return result;
+        }
+
+        /**
+         * Closes the driver statement, or readies a cached one for its next use.
+         */
+        private void release() throws SQLException {
+            if (cached == null) {
+                stmt.close();
+                return;
+            }
+            if (lastResult != null) {
+                lastResult.close();
+            }
+            try {
+                cached.reset();
+            } catch (SQLException e) {
+                // A statement that cannot be reset must not reach the next borrower
+                cached.evicted = true;
+                physical.statementCache.remove(cached.sql, cached);
+            }
+            cached.inUse = false;
+            if (cached.evicted) {
+                cached.raw.close();
+            }
+        }
+    }
+
+    /**
+     * Closes a statement, ignoring any error.
+     */
+    private static void closeQuietly(Statement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            // The statement is being discarded anyway
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+/**
+ * The seven values of the Continent column of the country table, which is
+ * an ENUM in MySQL. One shared constant per continent replaces a String on
+ * every country.
+ */
+public enum Continent {
+    // Asia.
+    ASIA("Asia"),
+    // Europe.
+    EUROPE("Europe"),
+    // North America.
+    NORTH_AMERICA("North America"),
+    // Africa.
+    AFRICA("Africa"),
+    // Oceania.
+    OCEANIA("Oceania"),
+    // Antarctica.
+    ANTARCTICA("Antarctica"),
+    // South America.
+    SOUTH_AMERICA("South America");
+
+    // Name as stored in the database.
+    private final String name;
+
+    Continent(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the name as stored in the database, such as "North America".
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Finds the continent with the given database name.
+     *
+     * @param name The name, such as "North America".
+     * @return The continent.
+     * @throws IllegalArgumentException If no continent has that name.
+     */
+    public static Continent of(String name) {
+        for (Continent continent : values()) {
+            if (continent.name.equals(name)) {
+                return continent;
+            }
+        }
+        throw new IllegalArgumentException("Unknown continent " + name);
+    }
+}
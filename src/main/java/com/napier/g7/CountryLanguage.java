@@ -0,0 +1,97 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+/**
+ * Represents a language spoken in a country, with the share of the
+ * country's population that speaks it.
+ */
+public class CountryLanguage {
+
+    // Code of the country where the language is spoken.
+    private String countryCode;
+
+    // Name of the language.
+    private String language;
+
+    // Whether the language is an official language of the country.
+    private boolean official;
+
+    // Percentage of the country's population speaking the language.
+    private float percentage;
+
+    /**
+     * Get the code of the country where the language is spoken.
+     *
+     * @return The country code.
+     */
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    /**
+     * Set the code of the country where the language is spoken.
+     *
+     * @param countryCode The country code to set.
+     */
+    public void setCountryCode(String countryCode) {
+        this.countryCode = countryCode;
+    }
+
+    /**
+     * Get the name of the language.
+     *
+     * @return The language.
+     */
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * Set the name of the language.
+     *
+     * @param language The language to set.
+     */
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    /**
+     * Get whether the language is an official language of the country.
+     *
+     * @return True if the language is official.
+     */
+    public boolean isOfficial() {
+        return official;
+    }
+
+    /**
+     * Set whether the language is an official language of the country.
+     *
+     * @param official True if the language is official.
+     */
+    public void setOfficial(boolean official) {
+        this.official = official;
+    }
+
+    /**
+     * Get the percentage of the country's population speaking the language.
+     *
+     * @return The percentage, from 0 to 100.
+     */
+    public float getPercentage() {
+        return percentage;
+    }
+
+    /**
+     * Set the percentage of the country's population speaking the language.
+     *
+     * @param percentage The percentage to set.
+     */
+    public void setPercentage(float percentage) {
+        this.percentage = percentage;
+    }
+}
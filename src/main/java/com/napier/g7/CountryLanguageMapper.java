@@ -0,0 +1,43 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the countrylanguage table to {@link CountryLanguage} objects.
+ */
+public class CountryLanguageMapper extends RowMapper<CountryLanguage> {
+
+    /**
+     * Shared mapper for queries selecting every countrylanguage column.
+     */
+    public static final CountryLanguageMapper INSTANCE = new CountryLanguageMapper();
+
+    // Positions of the columns in the array returned by resolve.
+    private static final int COUNTRY_CODE = 0;
+    private static final int LANGUAGE = 1;
+    private static final int IS_OFFICIAL = 2;
+    private static final int PERCENTAGE = 3;
+
+    /**
+     * Creates a mapper for the countrylanguage columns.
+     */
+    public CountryLanguageMapper() {
+        super("CountryCode", "Language", "IsOfficial", "Percentage");
+    }
+
+    @Override
+    public CountryLanguage mapRow(ResultSet rset, int[] cols) throws SQLException {
+        CountryLanguage language = new CountryLanguage();
+        language.setCountryCode(rset.getString(cols[COUNTRY_CODE]));
+        language.setLanguage(rset.getString(cols[LANGUAGE]));
+        language.setOfficial("T".equals(rset.getString(cols[IS_OFFICIAL])));
+        language.setPercentage(rset.getFloat(cols[PERCENTAGE]));
+        return language;
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the country table to {@link Country} objects.
+ * SQL NULL in indepYear, lifeExpectancy and gnpOld is kept as null.
+ */
+public class CountryMapper extends RowMapper<Country> {
+
+    /**
+     * Shared mapper for queries selecting every country column App uses.
+     */
+    public static final CountryMapper INSTANCE = new CountryMapper();
+
+    // Positions of the columns in the array returned by resolve.
+    private static final int CODE = 0;
+    private static final int NAME = 1;
+    private static final int CONTINENT = 2;
+    private static final int REGION = 3;
+    private static final int SURFACE_AREA = 4;
+    private static final int INDEP_YEAR = 5;
+    private static final int POPULATION = 6;
+    private static final int LIFE_EXPECTANCY = 7;
+    private static final int GNP = 8;
+    private static final int GNP_OLD = 9;
+    private static final int LOCAL_NAME = 10;
+    private static final int GOVERNMENT_FORM = 11;
+    private static final int HEAD_OF_STATE = 12;
+    private static final int CAPITAL = 13;
+
+    /**
+     * Creates a mapper for the country columns App selects.
+     */
+    public CountryMapper() {
+        super("code", "name", "continent", "region", "surfaceArea", "indepYear",
+                "population", "lifeExpectancy", "gnp", "gnpOld", "localName",
+                "governmentForm", "headOfState", "capital");
+    }
+
+    @Override
+    public Country mapRow(ResultSet rset, int[] cols) throws SQLException {
+        Country country = new Country();
+        country.setCode(rset.getString(cols[CODE]));
+        country.setName(rset.getString(cols[NAME]));
+        country.setContinent(rset.getString(cols[CONTINENT]));
+        country.setRegion(rset.getString(cols[REGION]));
+        country.setSurfaceArea(rset.getFloat(cols[SURFACE_AREA]));
+        country.setIndepYear(getNullableInt(rset, cols[INDEP_YEAR]));
+        country.setPopulation(rset.getInt(cols[POPULATION]));
+        country.setLifeExpectancy(getNullableFloat(rset, cols[LIFE_EXPECTANCY]));
+        country.setGnp(rset.getFloat(cols[GNP]));
+        country.setGnpOld(getNullableFloat(rset, cols[GNP_OLD]));
+        country.setLocalName(rset.getString(cols[LOCAL_NAME]));
+        country.setGovernmentForm(rset.getString(cols[GOVERNMENT_FORM]));
+        country.setHeadOfState(rset.getString(cols[HEAD_OF_STATE]));
+        country.setCapital(rset.getInt(cols[CAPITAL]));
+        return country;
+    }
+}
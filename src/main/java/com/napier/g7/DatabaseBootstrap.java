@@ -0,0 +1,240 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Waits for the database to come up before the application starts serving.
+ * <p>
+ * The database host is probed with a short TCP connect; once the port
+ * accepts connections, a real connection is borrowed from the pool to check
+ * that MySQL has finished initialising. Failed attempts are retried with
+ * exponential backoff and full jitter until the overall deadline passes, so
+ * start-up takes as long as the database needs and no longer.
+ */
+public class DatabaseBootstrap {
+
+    /**
+     * The stages the bootstrap goes through.
+     */
+    public enum Readiness {
+        // Not started yet.
+        STARTING,
+        // The database port does not accept connections yet.
+        WAITING_FOR_HOST,
+        // The port is open but MySQL does not accept logins yet.
+        WAITING_FOR_DATABASE,
+        // A connection was opened successfully.
+        READY,
+        // The deadline passed without the database becoming ready.
+        FAILED
+    }
+
+    // Database host name.
+    private final String host;
+
+    // Database port.
+    private final int port;
+
+    // Pool used to check that logins succeed.
+    private final ConnectionPool pool;
+
+    // Timeout of a single TCP probe.
+    private int probeTimeoutMillis = 1000;
+
+    // First backoff between attempts; doubled after every failure.
+    private long initialBackoffMillis = 100;
+
+    // Largest backoff between attempts.
+    private long maxBackoffMillis = 5000;
+
+    // Time after which the bootstrap gives up.
+    private long deadlineMillis = 300000;
+
+    // Current stage.
+    private volatile Readiness state = Readiness.STARTING;
+
+    // Number of attempts made so far.
+    private volatile int attempts = 0;
+
+    // Time spent waiting so far.
+    private volatile long elapsedMillis = 0;
+
+    // Why the last attempt failed, if it did.
+    private volatile String lastError = null;
+
+    /**
+     * Creates a bootstrap for the given database.
+     *
+     * @param host The database host name.
+     * @param port The database port.
+     * @param pool The pool the application will use.
+     */
+    public DatabaseBootstrap(String host, int port, ConnectionPool pool) {
+        this.host = host;
+        this.port = port;
+        this.pool = pool;
+    }
+
+    /**
+     * Set the timeout of a single TCP probe.
+     *
+     * @param probeTimeoutMillis The timeout in milliseconds.
+     */
+    public void setProbeTimeoutMillis(int probeTimeoutMillis) {
+        this.probeTimeoutMillis = probeTimeoutMillis;
+    }
+
+    /**
+     * Set the first backoff between attempts.
+     *
+     * @param initialBackoffMillis The backoff in milliseconds.
+     */
+    public void setInitialBackoffMillis(long initialBackoffMillis) {
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    /**
+     * Set the largest backoff between attempts.
+     *
+     * @param maxBackoffMillis The backoff in milliseconds.
+     */
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Set how long to wait in total before giving up.
+     *
+     * @param deadlineMillis The deadline in milliseconds.
+     */
+    public void setDeadlineMillis(long deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * Blocks until the database accepts a connection or the deadline passes.
+     *
+     * @return READY if a connection was opened, FAILED otherwise.
+     */
+    public Readiness awaitReady() {
+        long start = System.nanoTime();
+        long deadline = start + deadlineMillis * 1_000_000L;
+        long backoff = initialBackoffMillis;
+
+        while (true) {
+            attempts++;
+            if (probe() && login()) {
+                state = Readiness.READY;
+            }
+            elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+            if (state == Readiness.READY) {
+                return state;
+            }
+
+            // Sleep a random time up to the current backoff, without passing the deadline
+            long remaining = (deadline - System.nanoTime()) / 1_000_000L;
+            if (remaining <= 0) {
+                state = Readiness.FAILED;
+                return state;
+            }
+            long sleep = Math.min(ThreadLocalRandom.current().nextLong(backoff + 1), remaining);
+            try {
+                Thread.sleep(sleep);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                lastError = "Interrupted while waiting for the database";
+                state = Readiness.FAILED;
+                return state;
+            }
+            backoff = Math.min(backoff * 2, maxBackoffMillis);
+        }
+    }
+
+    /**
+     * Checks whether the database port accepts TCP connections.
+     */
+    private boolean probe() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), probeTimeoutMillis);
+            return true;
+        } catch (IOException e) {
+            state = Readiness.WAITING_FOR_HOST;
+            lastError = e.toString();
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether MySQL accepts a login.
+     */
+    private boolean login() {
+        try (Connection con = pool.getConnection()) {
+            if (con.isValid(1)) {
+                return true;
+            }
+            state = Readiness.WAITING_FOR_DATABASE;
+            lastError = "Connection is not valid";
+            return false;
+        } catch (SQLException e) {
+            state = Readiness.WAITING_FOR_DATABASE;
+            lastError = e.getMessage();
+            return false;
+        }
+    }
+
+    /**
+     * Get the current stage.
+     *
+     * @return The readiness state.
+     */
+    public Readiness getState() {
+        return state;
+    }
+
+    /**
+     * Get the number of attempts made so far.
+     *
+     * @return The number of attempts.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Get the time spent waiting for the database.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Get why the last attempt failed.
+     *
+     * @return The error message, or null if no attempt failed.
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public String toString() {
+        String status = "Database " + host + ":" + port + " " + state + " after "
+                + attempts + " attempt(s) in " + elapsedMillis + " ms";
+        if (state != Readiness.READY && lastError != null) {
+            status += " (" + lastError + ")";
+        }
+        return status;
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+/**
+ * The number of people speaking a language worldwide.
+ */
+public class LanguageSpeakers {
+
+    // Name of the language.
+    private final String language;
+
+    // Number of people speaking the language.
+    private final long speakers;
+
+    // Share of the world population speaking the language, from 0 to 100.
+    private final double worldPercentage;
+
+    /**
+     * Creates a result row.
+     *
+     * @param language        The name of the language.
+     * @param speakers        The number of people speaking it.
+     * @param worldPercentage The share of the world population speaking it.
+     */
+    public LanguageSpeakers(String language, long speakers, double worldPercentage) {
+        this.language = language;
+        this.speakers = speakers;
+        this.worldPercentage = worldPercentage;
+    }
+
+    /**
+     * Get the name of the language.
+     *
+     * @return The language.
+     */
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * Get the number of people speaking the language.
+     *
+     * @return The number of speakers.
+     */
+    public long getSpeakers() {
+        return speakers;
+    }
+
+    /**
+     * Get the share of the world population speaking the language.
+     *
+     * @return The percentage, from 0 to 100.
+     */
+    public double getWorldPercentage() {
+        return worldPercentage;
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The countrylanguage table held as primitive columns.
+ * <p>
+ * Each row is a language number, a country number and a percentage, kept in
+ * parallel arrays. Percentages are stored in tenths, the precision of the
+ * countrylanguage table, so speaker counts are summed exactly in longs.
+ * Language numbers index a dictionary of language names; country numbers
+ * index an array of country populations. The number of speakers of any set
+ * of languages is then one pass over the arrays with no lookups by name and
+ * no objects per row.
+ */
+public final class LanguageTable {
+
+    // Orders results by number of speakers (largest first), then by language.
+    private static final Comparator<LanguageSpeakers> SPEAKER_ORDER =
+            Comparator.comparingLong(LanguageSpeakers::getSpeakers).reversed()
+                    .thenComparing(LanguageSpeakers::getLanguage);
+
+    // Name of each language, by language number.
+    private final String[] languageNames;
+
+    // Language number of each language name.
+    private final Map<String, Integer> languageIds;
+
+    // Population of each country, by country number.
+    private final long[] countryPopulation;
+
+    // Population of all countries together.
+    private final long worldPopulation;
+
+    // Language number of each row.
+    private final int[] languageOfRow;
+
+    // Country number of each row.
+    private final int[] countryOfRow;
+
+    // Tenths of a percent of the country speaking the language, for each row.
+    private final int[] tenthsOfRow;
+
+    // Number of rows.
+    private final int size;
+
+    /**
+     * Builds the table. Rows of countries that are not in the given list are left out.
+     *
+     * @param countries All countries; a country's number is its position in the list.
+     * @param languages All rows of the countrylanguage table.
+     */
+    public LanguageTable(List<Country> countries, Collection<CountryLanguage> languages) {
+        // Number the countries and keep their populations
+        countryPopulation = new long[countries.size()];
+        Map<String, Integer> countryIds = new HashMap<>(countries.size() * 2);
+        long world = 0;
+        for (int i = 0; i < countries.size(); i++) {
+            Country country = countries.get(i);
+            countryPopulation[i] = country.getPopulation();
+            countryIds.put(country.getCode(), i);
+            world += country.getPopulation();
+        }
+        worldPopulation = world;
+
+        // Number the languages and fill the columns
+        ArrayList<String> names = new ArrayList<>();
+        languageIds = new HashMap<>();
+        languageOfRow = new int[languages.size()];
+        countryOfRow = new int[languages.size()];
+        tenthsOfRow = new int[languages.size()];
+        int row = 0;
+        for (CountryLanguage language : languages) {
+            Integer country = countryIds.get(language.getCountryCode());
+            if (country == null) {
+                continue;
+            }
+            Integer id = languageIds.get(language.getLanguage());
+            if (id == null) {
+                id = names.size();
+                names.add(language.getLanguage());
+                languageIds.put(language.getLanguage(), id);
+            }
+            languageOfRow[row] = id;
+            countryOfRow[row] = country;
+            tenthsOfRow[row] = Math.round(language.getPercentage() * 10);
+            row++;
+        }
+        size = row;
+        languageNames = names.toArray(new String[0]);
+    }
+
+    /**
+     * Get the number of rows in the table.
+     *
+     * @return The row count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the population of all countries together.
+     *
+     * @return The world population.
+     */
+    public long getWorldPopulation() {
+        return worldPopulation;
+    }
+
+    /**
+     * Get the name of every language in the table.
+     *
+     * @return A new list of language names.
+     */
+    public List<String> getLanguages() {
+        return new ArrayList<>(Arrays.asList(languageNames));
+    }
+
+    /**
+     * Counts the speakers of each of the given languages worldwide: for
+     * every country, the share speaking the language times the population
+     * of the country. All languages are counted in one pass over the table.
+     *
+     * @param languages The names of the languages; unknown names count zero speakers.
+     * @return A new list with one row per distinct language, most spoken first.
+     */
+    public ArrayList<LanguageSpeakers> speakers(Collection<String> languages) {
+        // Map each language number to its slot in the sums, or -1 if it is not asked for
+        int[] slot = new int[languageNames.length];
+        Arrays.fill(slot, -1);
+        ArrayList<String> asked = new ArrayList<>(languages.size());
+        for (String language : languages) {
+            if (asked.contains(language)) {
+                continue;
+            }
+            Integer id = languageIds.get(language);
+            if (id != null) {
+                slot[id] = asked.size();
+            }
+            asked.add(language);
+        }
+
+        // Sum percentage times population for every row of the asked languages
+        long[] sums = new long[asked.size()];
+        for (int i = 0; i < size; i++) {
+            int s = slot[languageOfRow[i]];
+            if (s >= 0) {
+                sums[s] += tenthsOfRow[i] * countryPopulation[countryOfRow[i]];
+            }
+        }
+
+        ArrayList<LanguageSpeakers> result = new ArrayList<>(asked.size());
+        for (int s = 0; s < asked.size(); s++) {
+            long speakers = Math.round(sums[s] / 1000.0);
+            double share = worldPopulation == 0 ? 0 : speakers * 100.0 / worldPopulation;
+            result.add(new LanguageSpeakers(asked.get(s), speakers, share));
+        }
+        result.sort(SPEAKER_ORDER);
+        return result;
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link QueryMetrics} of every named query and report of an App.
+ * <p>
+ * Metrics are created the first time their name is asked for, and looking
+ * up a name that already exists takes no lock. Once {@link #registerMBeans()}
+ * has been called, every metrics object, including those created later, is
+ * also published through JMX as com.napier.g7:type=Query,name="...".
+ */
+public class MetricsRegistry {
+
+    // JMX domain the metrics are published under.
+    private static final String DOMAIN = "com.napier.g7";
+
+    // Metrics by name.
+    private final ConcurrentHashMap<String, QueryMetrics> metrics = new ConcurrentHashMap<>();
+
+    // Whether metrics are published through JMX.
+    private volatile boolean jmx = false;
+
+    /**
+     * Get the metrics of a query or report, creating them if needed.
+     *
+     * @param name The name of the query or report.
+     * @return The metrics.
+     */
+    public QueryMetrics get(String name) {
+        QueryMetrics m = metrics.get(name);
+        if (m == null) {
+            m = metrics.computeIfAbsent(name, n -> {
+                QueryMetrics created = new QueryMetrics(n);
+                if (jmx) {
+                    register(created);
+                }
+                return created;
+            });
+        }
+        return m;
+    }
+
+    /**
+     * Get the metrics of every query and report, by name.
+     *
+     * @return The metrics, sorted by name.
+     */
+    public List<QueryMetrics> getAll() {
+        List<QueryMetrics> all = new ArrayList<>(metrics.values());
+        all.sort(Comparator.comparing(QueryMetrics::getName));
+        return all;
+    }
+
+    /**
+     * Publishes every metrics object through the platform MBean server,
+     * now and as they are created.
+     */
+    public void registerMBeans() {
+        jmx = true;
+        for (QueryMetrics m : metrics.values()) {
+            register(m);
+        }
+    }
+
+    /**
+     * Stops publishing the metrics through JMX.
+     */
+    public void unregisterMBeans() {
+        jmx = false;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (QueryMetrics m : metrics.values()) {
+            try {
+                ObjectName name = objectName(m);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (Exception e) {
+                System.out.println(e.getMessage());
+                System.out.println("Failed to unregister metrics of " + m.getName());
+            }
+        }
+    }
+
+    /**
+     * Prints one line per query or report: how often it ran, how many rows
+     * it returned, its latency and where the time went, in milliseconds.
+     *
+     * @param out Where to print the table.
+     */
+    public void printSummary(PrintStream out) {
+        out.println();
+        out.println(String.format("%-30s %7s %6s %7s %9s %9s %9s %9s %9s %9s %9s %9s %9s",
+                "Query (times in ms)", "Runs", "Errors", "Hits", "Rows", "p50", "p99", "Max",
+                "Connect", "Execute", "Fetch", "Hydrate", "Render"));
+        for (QueryMetrics m : getAll()) {
+            out.println(String.format("%-30s %7d %6d %7d %9.0f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                    m.getName(), m.getCount(), m.getErrorCount(), m.getCacheHitCount(), m.getRowsMean(),
+                    m.getLatencyP50Millis(), m.getLatencyP99Millis(), m.getLatencyMaxMillis(),
+                    m.getConnectMeanMillis(), m.getExecuteMeanMillis(), m.getFetchMeanMillis(),
+                    m.getHydrationMeanMillis(), m.getRenderMeanMillis()));
+        }
+    }
+
+    /**
+     * Publishes one metrics object, unless one of the same name already is.
+     */
+    private static void register(QueryMetrics m) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = objectName(m);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(m, name);
+            }
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            System.out.println("Failed to register metrics of " + m.getName());
+        }
+    }
+
+    /**
+     * Get the JMX name of a metrics object.
+     */
+    private static ObjectName objectName(QueryMetrics m) throws Exception {
+        return new ObjectName(DOMAIN + ":type=Query,name=" + ObjectName.quote(m.getName()));
+    }
+}
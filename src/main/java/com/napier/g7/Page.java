@@ -0,0 +1,82 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a listing, with the token to ask for the next one.
+ *
+ * @param <T> The type of the rows.
+ */
+public final class Page<T> {
+
+    // The largest number of rows a page may hold.
+    public static final int MAX_SIZE = 10000;
+
+    // The rows of the page, in listing order.
+    private final List<T> rows;
+
+    // The encoded token of the next page; null if this is the last page.
+    private final String nextToken;
+
+    /**
+     * Creates a page.
+     *
+     * @param rows      The rows of the page.
+     * @param nextToken The encoded token of the next page, or null if there is none.
+     */
+    public Page(List<T> rows, String nextToken) {
+        this.rows = rows;
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * Creates a page from up to pageSize + 1 rows read after the previous
+     * page: the extra row, if present, only tells that a next page exists.
+     *
+     * @param rows     The rows read, at most pageSize + 1.
+     * @param pageSize The number of rows per page.
+     * @param token    Builds the token of a page ending with the given row.
+     * @param <T>      The type of the rows.
+     * @return The page.
+     */
+    static <T> Page<T> of(List<T> rows, int pageSize, Function<T, PageToken> token) {
+        if (rows.size() <= pageSize) {
+            return new Page<>(rows, null);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return new Page<>(page, token.apply(page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Get the rows of the page.
+     *
+     * @return The rows, in listing order.
+     */
+    public List<T> getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the token of the next page.
+     *
+     * @return The encoded token, or null if this is the last page.
+     */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    /**
+     * Tells whether a next page exists.
+     *
+     * @return True if there are more rows after this page.
+     */
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
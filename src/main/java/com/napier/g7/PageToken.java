@@ -0,0 +1,179 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The position of the last row of a page in a listing ordered by population
+ * in descending order. Rows with equal populations are ordered by city ID or
+ * country code, so (population, ID) and (population, code) identify a place
+ * in the listing that stays put when rows before it are added or removed.
+ * <p>
+ * Callers see a token only in its encoded form, an opaque URL-safe string,
+ * and hand it back to get the next page.
+ */
+public final class PageToken {
+
+    // Marks a token taken from a city listing.
+    private static final char CITY = 'c';
+
+    // Marks a token taken from a country listing.
+    private static final char COUNTRY = 'k';
+
+    // The kind of listing the token was taken from.
+    private final char kind;
+
+    // Population of the last row of the page.
+    private final int population;
+
+    // ID of the last city of the page; 0 for countries.
+    private final int id;
+
+    // Code of the last country of the page; null for cities.
+    private final String code;
+
+    private PageToken(char kind, int population, int id, String code) {
+        this.kind = kind;
+        this.population = population;
+        this.id = id;
+        this.code = code;
+    }
+
+    /**
+     * Creates the token of a page ending with the given city.
+     *
+     * @param city The last city of the page.
+     * @return The token.
+     */
+    public static PageToken of(City city) {
+        return new PageToken(CITY, city.getPopulation(), city.getId(), null);
+    }
+
+    /**
+     * Creates the token of a page ending with the given country.
+     *
+     * @param country The last country of the page.
+     * @return The token.
+     */
+    public static PageToken of(Country country) {
+        return new PageToken(COUNTRY, country.getPopulation(), 0, country.getCode());
+    }
+
+    /**
+     * Decodes a token taken from a city listing.
+     *
+     * @param token The encoded token, or null for the first page.
+     * @return The token, or null if none was given.
+     * @throws IllegalArgumentException If the token is malformed or was taken from a country listing.
+     */
+    public static PageToken decodeCity(String token) {
+        return decode(token, CITY);
+    }
+
+    /**
+     * Decodes a token taken from a country listing.
+     *
+     * @param token The encoded token, or null for the first page.
+     * @return The token, or null if none was given.
+     * @throws IllegalArgumentException If the token is malformed or was taken from a city listing.
+     */
+    public static PageToken decodeCountry(String token) {
+        return decode(token, COUNTRY);
+    }
+
+    /**
+     * Get the population of the last row of the page.
+     *
+     * @return The population.
+     */
+    public int getPopulation() {
+        return population;
+    }
+
+    /**
+     * Get the ID of the last city of the page.
+     *
+     * @return The city ID; 0 for a country token.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get the code of the last country of the page.
+     *
+     * @return The country code; null for a city token.
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Builds a city that sorts in the place of the last row of the page, to
+     * search a ranked list with {@link WorldSnapshot#CITY_ORDER}.
+     *
+     * @return A city with only the population and ID set.
+     */
+    City toCity() {
+        City city = new City();
+        city.setPopulation(population);
+        city.setId(id);
+        return city;
+    }
+
+    /**
+     * Builds a country that sorts in the place of the last row of the page,
+     * to search a ranked list with {@link WorldSnapshot#COUNTRY_ORDER}.
+     *
+     * @return A country with only the population and code set.
+     */
+    Country toCountry() {
+        Country country = new Country();
+        country.setPopulation(population);
+        country.setCode(code);
+        return country;
+    }
+
+    /**
+     * Encodes the token as an opaque URL-safe string.
+     *
+     * @return The encoded token.
+     */
+    public String encode() {
+        String plain = kind + ":" + population + ":" + (kind == CITY ? Integer.toString(id) : code);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+
+    /**
+     * Decodes a token and checks it was taken from the expected kind of listing.
+     */
+    private static PageToken decode(String token, char expected) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = plain.split(":", 3);
+            if (parts.length != 3 || parts[0].length() != 1 || parts[0].charAt(0) != expected) {
+                throw new IllegalArgumentException("Invalid page token " + token);
+            }
+            int population = Integer.parseInt(parts[1]);
+            return expected == CITY
+                    ? new PageToken(CITY, population, Integer.parseInt(parts[2]), null)
+                    : new PageToken(COUNTRY, population, 0, parts[2]);
+        } catch (IllegalArgumentException e) {
+            // Base64 and number format errors alike
+            throw new IllegalArgumentException("Invalid page token " + token);
+        }
+    }
+}
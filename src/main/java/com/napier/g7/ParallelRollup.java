@@ -0,0 +1,240 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * City and non-city population of the world, every continent, region and
+ * country, summed over a {@link CityTable} in parallel.
+ * <p>
+ * The rows are split into chunks on a fork/join pool. Each chunk sums its
+ * city populations into a long array of its own, indexed by country, and
+ * each parent task adds the array of one child into the other's, so no
+ * two threads ever write to the same array. The country sums are then
+ * folded into regions, continents and the world. Sums of integers do not
+ * depend on the order they are added in, so the totals are the same for
+ * any pool and any split, and equal to those of {@link PopulationRollup}.
+ * <p>
+ * As in PopulationRollup, places are looked up by name; places of a level
+ * that share a name have their totals combined.
+ */
+public final class ParallelRollup {
+
+    // Fewest rows a chunk is split into; smaller chunks cost more to merge than they save.
+    private static final int MIN_CHUNK = 1 << 16;
+
+    // Chunks per worker thread, so that busy threads can steal the work of slow ones.
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    // The levels summed, from the top.
+    private static final Scope[] LEVELS = {Scope.WORLD, Scope.CONTINENT, Scope.REGION, Scope.COUNTRY};
+
+    // Slot of each place name, by level; the world has the null name.
+    private final Map<Scope, Map<String, Integer>> slots = new EnumMap<>(Scope.class);
+
+    // Total population of each slot, by level.
+    private final Map<Scope, long[]> population = new EnumMap<>(Scope.class);
+
+    // City population of each slot, by level.
+    private final Map<Scope, long[]> cityPopulation = new EnumMap<>(Scope.class);
+
+    // City population of each country, by country index in the table.
+    private final long[] cityPopulationByCountry;
+
+    /**
+     * Sums the table on the common fork/join pool.
+     *
+     * @param cities The cities.
+     * @return The totals.
+     */
+    public static ParallelRollup of(CityTable cities) {
+        return of(cities, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sums the table on the given fork/join pool.
+     *
+     * @param cities The cities.
+     * @param pool   The pool the chunks run on.
+     * @return The totals.
+     */
+    public static ParallelRollup of(CityTable cities, ForkJoinPool pool) {
+        int chunk = Math.max(MIN_CHUNK, cities.size() / (pool.getParallelism() * CHUNKS_PER_THREAD) + 1);
+        return new ParallelRollup(cities, pool.invoke(new Chunk(cities, 0, cities.size(), chunk)));
+    }
+
+    /**
+     * Sums the table on the calling thread, in one pass.
+     *
+     * @param cities The cities.
+     * @return The totals.
+     */
+    public static ParallelRollup sequential(CityTable cities) {
+        return new ParallelRollup(cities, sum(cities, 0, cities.size()));
+    }
+
+    /**
+     * Folds the city population of each country into every level.
+     */
+    private ParallelRollup(CityTable cities, long[] cityPopulationByCountry) {
+        this.cityPopulationByCountry = cityPopulationByCountry;
+        List<Country> countries = cities.getCountries();
+
+        for (Scope level : LEVELS) {
+            // Give each place of the level a slot, in the order its first country comes
+            Map<String, Integer> names = new HashMap<>();
+            int[] slotOf = new int[countries.size()];
+            for (int i = 0; i < countries.size(); i++) {
+                slotOf[i] = names.computeIfAbsent(name(level, countries.get(i)), k -> names.size());
+            }
+
+            // Add up the countries of each slot
+            long[] total = new long[names.size()];
+            long[] inCities = new long[names.size()];
+            for (int i = 0; i < countries.size(); i++) {
+                total[slotOf[i]] += countries.get(i).getPopulation();
+                inCities[slotOf[i]] += cityPopulationByCountry[i];
+            }
+            slots.put(level, names);
+            population.put(level, total);
+            cityPopulation.put(level, inCities);
+        }
+    }
+
+    /**
+     * Get the total population of a place.
+     *
+     * @param scope The level of the place: WORLD, CONTINENT, REGION or COUNTRY.
+     * @param name  The name of the place; ignored for WORLD.
+     * @return The population, or -1 if there is no such place.
+     */
+    public long getPopulation(Scope scope, String name) {
+        return total(population, scope, name);
+    }
+
+    /**
+     * Get the number of people living in the cities of a place.
+     *
+     * @param scope The level of the place: WORLD, CONTINENT, REGION or COUNTRY.
+     * @param name  The name of the place; ignored for WORLD.
+     * @return The city population, or -1 if there is no such place.
+     */
+    public long getCityPopulation(Scope scope, String name) {
+        return total(cityPopulation, scope, name);
+    }
+
+    /**
+     * Get the number of people of a place not living in cities.
+     *
+     * @param scope The level of the place: WORLD, CONTINENT, REGION or COUNTRY.
+     * @param name  The name of the place; ignored for WORLD.
+     * @return The population minus the city population, or -1 if there is no such place.
+     */
+    public long getNonCityPopulation(Scope scope, String name) {
+        long total = getPopulation(scope, name);
+        return total < 0 ? -1 : total - getCityPopulation(scope, name);
+    }
+
+    /**
+     * Get the number of people living in the cities of one country.
+     *
+     * @param country The index of the country in the table's country list.
+     * @return The city population.
+     */
+    public long getCityPopulation(int country) {
+        return cityPopulationByCountry[country];
+    }
+
+    /**
+     * Get the name of the place of a level a country is in.
+     */
+    private static String name(Scope level, Country country) {
+        switch (level) {
+            case CONTINENT:
+                return country.getContinent();
+            case REGION:
+                return country.getRegion();
+            case COUNTRY:
+                return country.getName();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Looks up the total of a place in one of the per-level arrays.
+     */
+    private long total(Map<Scope, long[]> totals, Scope scope, String name) {
+        Map<String, Integer> level = slots.get(scope);
+        if (level == null) {
+            throw new IllegalArgumentException("Populations are not summed by " + scope);
+        }
+        Integer slot = level.get(scope == Scope.WORLD ? null : name);
+        return slot == null ? -1 : totals.get(scope)[slot];
+    }
+
+    /**
+     * Sums the city populations of a range of rows by country.
+     */
+    private static long[] sum(CityTable cities, int from, int to) {
+        long[] sums = new long[cities.getCountries().size()];
+        for (int row = from; row < to; row++) {
+            sums[cities.getCountryIndex(row)] += cities.getPopulation(row);
+        }
+        return sums;
+    }
+
+    /**
+     * Sums a range of rows, splitting it in two while it is larger than a chunk.
+     */
+    private static final class Chunk extends RecursiveTask<long[]> {
+
+        // Tasks are never serialized, but RecursiveTask is Serializable.
+        private static final long serialVersionUID = 1L;
+
+        // The cities.
+        private final transient CityTable cities;
+
+        // First row of the range.
+        private final int from;
+
+        // Row after the last of the range.
+        private final int to;
+
+        // Largest range summed without splitting.
+        private final int chunk;
+
+        Chunk(CityTable cities, int from, int to, int chunk) {
+            this.cities = cities;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= chunk) {
+                return sum(cities, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Chunk left = new Chunk(cities, from, middle, chunk);
+            left.fork();
+            long[] sums = new Chunk(cities, middle, to, chunk).compute();
+            long[] leftSums = left.join();
+            // Both arrays belong to this task now; merge into one of them
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += leftSums[i];
+            }
+            return sums;
+        }
+    }
+}
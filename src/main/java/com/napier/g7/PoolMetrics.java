@@ -0,0 +1,337 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+/**
+ * A point-in-time view of the counters of a {@link ConnectionPool}.
+ */
+public class PoolMetrics {
+
+    // Maximum number of connections.
+    private int maxSize;
+
+    // Connections currently borrowed.
+    private int active;
+
+    // Connections open and waiting to be borrowed.
+    private int idle;
+
+    // Threads waiting for a connection.
+    private int waiting;
+
+    // Total number of borrows.
+    private long borrowCount;
+
+    // Connections opened since the pool was created.
+    private long createdCount;
+
+    // Connections closed since the pool was created.
+    private long destroyedCount;
+
+    // Connections closed because they stayed idle too long.
+    private long evictedCount;
+
+    // Idle connections that failed validation when borrowed.
+    private long validationFailures;
+
+    // Borrows that gave up waiting for a connection.
+    private long borrowTimeouts;
+
+    // Connections held longer than the leak threshold.
+    private long leakedConnections;
+
+    // Statements still open when their connection was returned.
+    private long leakedStatements;
+
+    // Result sets still open when their connection was returned.
+    private long leakedResultSets;
+
+    // Prepared statements reused from a connection's statement cache.
+    private long statementCacheHits;
+
+    // Prepared statements that had to be prepared by the server.
+    private long statementCacheMisses;
+
+    /**
+     * Get the maximum number of connections.
+     *
+     * @return The maximum number of connections.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set the maximum number of connections.
+     *
+     * @param maxSize The value to set.
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the number of connections currently borrowed.
+     *
+     * @return The number of connections currently borrowed.
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * Set the number of connections currently borrowed.
+     *
+     * @param active The value to set.
+     */
+    public void setActive(int active) {
+        this.active = active;
+    }
+
+    /**
+     * Get the number of idle connections.
+     *
+     * @return The number of idle connections.
+     */
+    public int getIdle() {
+        return idle;
+    }
+
+    /**
+     * Set the number of idle connections.
+     *
+     * @param idle The value to set.
+     */
+    public void setIdle(int idle) {
+        this.idle = idle;
+    }
+
+    /**
+     * Get the number of threads waiting for a connection.
+     *
+     * @return The number of threads waiting for a connection.
+     */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    /**
+     * Set the number of threads waiting for a connection.
+     *
+     * @param waiting The value to set.
+     */
+    public void setWaiting(int waiting) {
+        this.waiting = waiting;
+    }
+
+    /**
+     * Get the total number of borrows.
+     *
+     * @return The total number of borrows.
+     */
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    /**
+     * Set the total number of borrows.
+     *
+     * @param borrowCount The value to set.
+     */
+    public void setBorrowCount(long borrowCount) {
+        this.borrowCount = borrowCount;
+    }
+
+    /**
+     * Get the number of connections opened.
+     *
+     * @return The number of connections opened.
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Set the number of connections opened.
+     *
+     * @param createdCount The value to set.
+     */
+    public void setCreatedCount(long createdCount) {
+        this.createdCount = createdCount;
+    }
+
+    /**
+     * Get the number of connections closed.
+     *
+     * @return The number of connections closed.
+     */
+    public long getDestroyedCount() {
+        return destroyedCount;
+    }
+
+    /**
+     * Set the number of connections closed.
+     *
+     * @param destroyedCount The value to set.
+     */
+    public void setDestroyedCount(long destroyedCount) {
+        this.destroyedCount = destroyedCount;
+    }
+
+    /**
+     * Get the number of connections closed for staying idle too long.
+     *
+     * @return The number of connections closed for staying idle too long.
+     */
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    /**
+     * Set the number of connections closed for staying idle too long.
+     *
+     * @param evictedCount The value to set.
+     */
+    public void setEvictedCount(long evictedCount) {
+        this.evictedCount = evictedCount;
+    }
+
+    /**
+     * Get the number of idle connections that failed validation.
+     *
+     * @return The number of idle connections that failed validation.
+     */
+    public long getValidationFailures() {
+        return validationFailures;
+    }
+
+    /**
+     * Set the number of idle connections that failed validation.
+     *
+     * @param validationFailures The value to set.
+     */
+    public void setValidationFailures(long validationFailures) {
+        this.validationFailures = validationFailures;
+    }
+
+    /**
+     * Get the number of borrows that timed out.
+     *
+     * @return The number of borrows that timed out.
+     */
+    public long getBorrowTimeouts() {
+        return borrowTimeouts;
+    }
+
+    /**
+     * Set the number of borrows that timed out.
+     *
+     * @param borrowTimeouts The value to set.
+     */
+    public void setBorrowTimeouts(long borrowTimeouts) {
+        this.borrowTimeouts = borrowTimeouts;
+    }
+
+    /**
+     * Get the number of connections held longer than the leak threshold.
+     *
+     * @return The number of connections held longer than the leak threshold.
+     */
+    public long getLeakedConnections() {
+        return leakedConnections;
+    }
+
+    /**
+     * Set the number of connections held longer than the leak threshold.
+     *
+     * @param leakedConnections The value to set.
+     */
+    public void setLeakedConnections(long leakedConnections) {
+        this.leakedConnections = leakedConnections;
+    }
+
+    /**
+     * Get the number of statements left open on a returned connection.
+     *
+     * @return The number of statements left open on a returned connection.
+     */
+    public long getLeakedStatements() {
+        return leakedStatements;
+    }
+
+    /**
+     * Set the number of statements left open on a returned connection.
+     *
+     * @param leakedStatements The value to set.
+     */
+    public void setLeakedStatements(long leakedStatements) {
+        this.leakedStatements = leakedStatements;
+    }
+
+    /**
+     * Get the number of result sets left open on a returned connection.
+     *
+     * @return The number of result sets left open on a returned connection.
+     */
+    public long getLeakedResultSets() {
+        return leakedResultSets;
+    }
+
+    /**
+     * Set the number of result sets left open on a returned connection.
+     *
+     * @param leakedResultSets The value to set.
+     */
+    public void setLeakedResultSets(long leakedResultSets) {
+        this.leakedResultSets = leakedResultSets;
+    }
+
+    /**
+     * Get the number of prepared statements reused from the statement cache.
+     *
+     * @return The number of statement cache hits.
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    /**
+     * Set the number of prepared statements reused from the statement cache.
+     *
+     * @param statementCacheHits The value to set.
+     */
+    public void setStatementCacheHits(long statementCacheHits) {
+        this.statementCacheHits = statementCacheHits;
+    }
+
+    /**
+     * Get the number of prepared statements that were not in the statement cache.
+     *
+     * @return The number of statement cache misses.
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    /**
+     * Set the number of prepared statements that were not in the statement cache.
+     *
+     * @param statementCacheMisses The value to set.
+     */
+    public void setStatementCacheMisses(long statementCacheMisses) {
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    @Override
+    public String toString() {
+        return "Pool: " + active + " active, " + idle + " idle, " + waiting + " waiting (max " + maxSize + "), "
+                + borrowCount + " borrows, " + createdCount + " opened, " + destroyedCount + " closed, "
+                + evictedCount + " evicted, " + validationFailures + " failed validation, "
+                + borrowTimeouts + " timeouts, " + leakedConnections + " leaked connections, "
+                + leakedStatements + " leaked statements, " + leakedResultSets + " leaked result sets, "
+                + statementCacheHits + " statement cache hits, " + statementCacheMisses + " misses";
+    }
+}
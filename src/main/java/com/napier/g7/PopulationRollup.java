@@ -0,0 +1,270 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Population totals for every level of the world hierarchy:
+ * world, continent, region, country, district and city.
+ * <p>
+ * Each node knows its total population, the part of it living in cities and
+ * the part that does not. The tree is built with one pass over the countries
+ * and one over the cities; after that every total is a map lookup.
+ * <p>
+ * The population of a country comes from the country table and is summed up
+ * to regions, continents and the world. Districts and cities only have city
+ * populations, so all of their people count as living in cities.
+ */
+public final class PopulationRollup {
+
+    /**
+     * Population totals of one place.
+     */
+    public static final class Node {
+
+        // Name of the place; null for the world.
+        private final String name;
+
+        // Level of the place in the hierarchy.
+        private final Scope scope;
+
+        // Enclosing place; null for the world and for merged nodes.
+        private final Node parent;
+
+        // Places one level down.
+        private List<Node> children = new ArrayList<>();
+
+        // Total population.
+        private long population;
+
+        // People living in cities.
+        private long cityPopulation;
+
+        private Node(String name, Scope scope, Node parent) {
+            this.name = name;
+            this.scope = scope;
+            this.parent = parent;
+            if (parent != null) {
+                parent.children.add(this);
+            }
+        }
+
+        /**
+         * Get the name of the place.
+         *
+         * @return The name, or null for the world.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the level of the place in the hierarchy.
+         *
+         * @return The scope of the node.
+         */
+        public Scope getScope() {
+            return scope;
+        }
+
+        /**
+         * Get the enclosing place.
+         *
+         * @return The parent node, or null for the world and for places
+         *         whose name is shared by several places.
+         */
+        public Node getParent() {
+            return parent;
+        }
+
+        /**
+         * Get the places one level down, most populated first.
+         *
+         * @return An unmodifiable list of nodes.
+         */
+        public List<Node> getChildren() {
+            return children;
+        }
+
+        /**
+         * Get the total population.
+         *
+         * @return The population.
+         */
+        public long getPopulation() {
+            return population;
+        }
+
+        /**
+         * Get the number of people living in cities.
+         *
+         * @return The city population.
+         */
+        public long getCityPopulation() {
+            return cityPopulation;
+        }
+
+        /**
+         * Get the number of people not living in cities.
+         *
+         * @return The population minus the city population.
+         */
+        public long getNonCityPopulation() {
+            return population - cityPopulation;
+        }
+    }
+
+    // Orders nodes by population (largest first), then by name.
+    private static final Comparator<Node> NODE_ORDER =
+            Comparator.comparingLong(Node::getPopulation).reversed()
+                    .thenComparing(Node::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // Root of the tree.
+    private final Node world;
+
+    // Nodes of each level, keyed by name.
+    private final Map<Scope, Map<String, Node>> nodes = new EnumMap<>(Scope.class);
+
+    /**
+     * Builds the rollup tree.
+     *
+     * @param countries All countries.
+     * @param cities    All cities, each carrying its country code.
+     */
+    public PopulationRollup(Collection<Country> countries, Collection<City> cities) {
+        for (Scope scope : Scope.values()) {
+            nodes.put(scope, new HashMap<>());
+        }
+        world = new Node(null, Scope.WORLD, null);
+        nodes.get(Scope.WORLD).put(null, world);
+
+        // Pass over countries: create the upper levels and add country populations
+        Map<String, Node> countryByCode = new HashMap<>(countries.size() * 2);
+        Map<String, Node> continents = new HashMap<>();
+        Map<String, Node> regions = new HashMap<>();
+        for (Country country : countries) {
+            Node continent = continents.computeIfAbsent(country.getContinent(),
+                    k -> new Node(k, Scope.CONTINENT, world));
+            Node region = regions.computeIfAbsent(continent.getName() + '\0' + country.getRegion(),
+                    k -> new Node(country.getRegion(), Scope.REGION, continent));
+            Node node = new Node(country.getName(), Scope.COUNTRY, region);
+            countryByCode.put(country.getCode(), node);
+            for (Node n = node; n != null; n = n.parent) {
+                n.population += country.getPopulation();
+            }
+        }
+
+        // Pass over cities: create districts and cities and add city populations
+        Map<String, Node> districts = new HashMap<>();
+        for (City city : cities) {
+            Node country = countryByCode.get(city.getCountryCode());
+            if (country == null) {
+                continue;
+            }
+            Node district = districts.computeIfAbsent(city.getCountryCode() + '\0' + city.getDistrict(),
+                    k -> new Node(city.getDistrict(), Scope.DISTRICT, country));
+            district.population += city.getPopulation();
+            Node node = new Node(city.getName(), Scope.CITY, district);
+            node.population = city.getPopulation();
+            for (Node n = node; n != null; n = n.parent) {
+                n.cityPopulation += city.getPopulation();
+            }
+        }
+
+        // Order children and index every node by name
+        freeze(world);
+        for (Map<String, Node> level : nodes.values()) {
+            for (Node node : level.values()) {
+                if (node.parent == null && node.children instanceof ArrayList) {
+                    // A merged node; order its children like the others
+                    ArrayList<Node> children = (ArrayList<Node>) node.children;
+                    children.sort(NODE_ORDER);
+                    node.children = Collections.unmodifiableList(children);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the children of a node and its descendants, makes them
+     * unmodifiable and indexes them by name.
+     */
+    private void freeze(Node node) {
+        index(node);
+        ArrayList<Node> children = (ArrayList<Node>) node.children;
+        children.sort(NODE_ORDER);
+        children.trimToSize();
+        node.children = Collections.unmodifiableList(children);
+        for (Node child : children) {
+            freeze(child);
+        }
+    }
+
+    /**
+     * Adds a node to the name index of its level. When several places share
+     * a name, the index holds a merged node with their combined totals.
+     */
+    private void index(Node node) {
+        Map<String, Node> level = nodes.get(node.scope);
+        Node existing = level.get(node.name);
+        if (existing == null || existing == node) {
+            level.put(node.name, node);
+            return;
+        }
+        Node merged = existing;
+        if (existing.parent != null) {
+            merged = new Node(node.name, node.scope, null);
+            merged.population = existing.population;
+            merged.cityPopulation = existing.cityPopulation;
+            merged.children = new ArrayList<>(existing.children);
+            level.put(node.name, merged);
+        }
+        merged.population += node.population;
+        merged.cityPopulation += node.cityPopulation;
+        merged.children.addAll(node.children);
+    }
+
+    /**
+     * Get the totals of the whole world.
+     *
+     * @return The root node.
+     */
+    public Node getWorld() {
+        return world;
+    }
+
+    /**
+     * Get the totals of one place.
+     *
+     * @param scope The level of the place.
+     * @param name  The name of the place; ignored for WORLD.
+     * @return The node, or null if there is no such place. If several places
+     *         of the level share the name, their combined totals.
+     */
+    public Node get(Scope scope, String name) {
+        return nodes.get(scope).get(scope == Scope.WORLD ? null : name);
+    }
+
+    /**
+     * Get every place of a level, most populated first.
+     *
+     * @param scope The level.
+     * @return A new list of nodes.
+     */
+    public List<Node> getAll(Scope scope) {
+        ArrayList<Node> all = new ArrayList<>(nodes.get(scope).values());
+        all.sort(NODE_ORDER);
+        return all;
+    }
+}
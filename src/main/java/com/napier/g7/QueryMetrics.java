@@ -0,0 +1,222 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The timings and row counts of one named query or report, split by where
+ * the time went: borrowing a connection, executing the statement, fetching
+ * rows, turning them into objects and rendering them as a table.
+ * <p>
+ * Every method records without locking, so any number of threads can
+ * share one instance. Durations are recorded in nanoseconds.
+ */
+public class QueryMetrics implements QueryMetricsMXBean {
+
+    // Nanoseconds in a millisecond.
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    // Name of the query or report.
+    private final String name;
+
+    // Time of each run, from borrowing the connection to the last row.
+    private final Histogram latency = new Histogram();
+
+    // Time spent borrowing a connection and preparing the statement.
+    private final Histogram connect = new Histogram();
+
+    // Time spent executing the statement.
+    private final Histogram execute = new Histogram();
+
+    // Time spent moving to the next row, per run.
+    private final Histogram fetch = new Histogram();
+
+    // Time spent turning rows into objects, per run.
+    private final Histogram hydration = new Histogram();
+
+    // Rows returned by each run.
+    private final Histogram rows = new Histogram();
+
+    // Time spent rendering the result as a table.
+    private final Histogram render = new Histogram();
+
+    // Runs that failed.
+    private final LongAdder errors = new LongAdder();
+
+    // Calls answered from the result cache.
+    private final LongAdder cacheHits = new LongAdder();
+
+    /**
+     * Creates empty metrics.
+     *
+     * @param name The name of the query or report.
+     */
+    public QueryMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a finished run.
+     *
+     * @param nanos The time of the run.
+     * @param count The number of rows returned.
+     */
+    public void recordRun(long nanos, long count) {
+        latency.record(nanos);
+        rows.record(count);
+    }
+
+    /**
+     * Records the time spent borrowing a connection and preparing the statement.
+     *
+     * @param nanos The time taken.
+     */
+    public void recordConnect(long nanos) {
+        connect.record(nanos);
+    }
+
+    /**
+     * Records the time spent executing the statement.
+     *
+     * @param nanos The time taken.
+     */
+    public void recordExecute(long nanos) {
+        execute.record(nanos);
+    }
+
+    /**
+     * Records the time one run spent fetching rows and turning them into objects.
+     *
+     * @param fetchNanos     The time spent moving to the next row.
+     * @param hydrationNanos The time spent turning rows into objects.
+     */
+    public void recordMapping(long fetchNanos, long hydrationNanos) {
+        fetch.record(fetchNanos);
+        hydration.record(hydrationNanos);
+    }
+
+    /**
+     * Records the time spent rendering a result as a table.
+     *
+     * @param nanos The time taken.
+     */
+    public void recordRender(long nanos) {
+        render.record(nanos);
+    }
+
+    /**
+     * Records a failed run.
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Records a call answered from the result cache.
+     */
+    public void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getCacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public double getLatencyMeanMillis() {
+        return latency.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+        return latency.getPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+        return latency.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatencyMaxMillis() {
+        return latency.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getConnectMeanMillis() {
+        return connect.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getExecuteMeanMillis() {
+        return execute.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getFetchMeanMillis() {
+        return fetch.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getHydrationMeanMillis() {
+        return hydration.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRowsMean() {
+        return rows.getMean();
+    }
+
+    @Override
+    public long getRowsMax() {
+        return rows.getMax();
+    }
+
+    @Override
+    public long getRenderCount() {
+        return render.getCount();
+    }
+
+    @Override
+    public double getRenderMeanMillis() {
+        return render.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRenderP99Millis() {
+        return render.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        connect.reset();
+        execute.reset();
+        fetch.reset();
+        hydration.reset();
+        rows.reset();
+        render.reset();
+        errors.reset();
+        cacheHits.reset();
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+/**
+ * The metrics of one named query or report as seen through JMX, for
+ * example in JConsole under com.napier.g7/Query. Times are in milliseconds.
+ */
+public interface QueryMetricsMXBean {
+
+    /**
+     * Get the name of the query or report.
+     *
+     * @return The name.
+     */
+    String getName();
+
+    /**
+     * Get the number of times the query ran against the data source.
+     *
+     * @return The number of runs.
+     */
+    long getCount();
+
+    /**
+     * Get the number of runs that failed.
+     *
+     * @return The number of failures.
+     */
+    long getErrorCount();
+
+    /**
+     * Get the number of calls answered from the result cache.
+     *
+     * @return The number of cache hits.
+     */
+    long getCacheHitCount();
+
+    /**
+     * Get the mean time of a run, from borrowing the connection to the last row.
+     *
+     * @return The mean latency.
+     */
+    double getLatencyMeanMillis();
+
+    /**
+     * Get the median time of a run, to within a factor of two.
+     *
+     * @return The median latency.
+     */
+    double getLatencyP50Millis();
+
+    /**
+     * Get the 99th percentile time of a run, to within a factor of two.
+     *
+     * @return The 99th percentile latency.
+     */
+    double getLatencyP99Millis();
+
+    /**
+     * Get the longest time of a run.
+     *
+     * @return The maximum latency.
+     */
+    double getLatencyMaxMillis();
+
+    /**
+     * Get the mean time spent borrowing a connection and preparing the statement.
+     *
+     * @return The mean connect time.
+     */
+    double getConnectMeanMillis();
+
+    /**
+     * Get the mean time spent executing the statement.
+     *
+     * @return The mean execute time.
+     */
+    double getExecuteMeanMillis();
+
+    /**
+     * Get the mean time spent moving to the next row of the result set.
+     *
+     * @return The mean fetch time.
+     */
+    double getFetchMeanMillis();
+
+    /**
+     * Get the mean time spent turning rows into objects.
+     *
+     * @return The mean hydration time.
+     */
+    double getHydrationMeanMillis();
+
+    /**
+     * Get the mean number of rows a run returned.
+     *
+     * @return The mean row count.
+     */
+    double getRowsMean();
+
+    /**
+     * Get the largest number of rows a run returned.
+     *
+     * @return The maximum row count.
+     */
+    long getRowsMax();
+
+    /**
+     * Get the number of times the result was rendered as a table.
+     *
+     * @return The number of renders.
+     */
+    long getRenderCount();
+
+    /**
+     * Get the mean time spent rendering the result as a table.
+     *
+     * @return The mean render time.
+     */
+    double getRenderMeanMillis();
+
+    /**
+     * Get the 99th percentile time spent rendering, to within a factor of two.
+     *
+     * @return The 99th percentile render time.
+     */
+    double getRenderP99Millis();
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    void reset();
+}
@@ -0,0 +1,101 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Rows grouped by a key, each group kept in the order of the list it was
+ * built from. Built once from a list already sorted by population, it
+ * answers "the top N of group K" by returning the first N rows of that
+ * group, without sorting or scanning.
+ *
+ * @param <T> The type of the rows.
+ */
+public final class RankedIndex<T> {
+
+    // Rows of each group, in ranking order.
+    private final Map<String, List<T>> groups;
+
+    private RankedIndex(Map<String, List<T>> groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * Groups the rows of a ranked list by key, keeping their order.
+     *
+     * @param ranked The rows, in ranking order.
+     * @param key    Gives the group of a row; rows with a null key are left out.
+     * @param <T>    The type of the rows.
+     * @return The index.
+     */
+    public static <T> RankedIndex<T> of(List<T> ranked, Function<? super T, String> key) {
+        Map<String, ArrayList<T>> building = new HashMap<>();
+        for (T row : ranked) {
+            String group = key.apply(row);
+            if (group != null) {
+                building.computeIfAbsent(group, k -> new ArrayList<>()).add(row);
+            }
+        }
+
+        Map<String, List<T>> groups = new HashMap<>(building.size() * 2);
+        for (Map.Entry<String, ArrayList<T>> entry : building.entrySet()) {
+            entry.getValue().trimToSize();
+            groups.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+        return new RankedIndex<>(Collections.unmodifiableMap(groups));
+    }
+
+    /**
+     * Puts every row of a ranked list in a single group, for the WORLD scope.
+     *
+     * @param ranked The rows, in ranking order.
+     * @param <T>    The type of the rows.
+     * @return The index; its only group has a null key.
+     */
+    public static <T> RankedIndex<T> whole(List<T> ranked) {
+        Map<String, List<T>> groups = new HashMap<>();
+        groups.put(null, Collections.unmodifiableList(ranked));
+        return new RankedIndex<>(groups);
+    }
+
+    /**
+     * Get every row of a group.
+     *
+     * @param key The group.
+     * @return An unmodifiable list in ranking order, empty if there is no such group.
+     */
+    public List<T> get(String key) {
+        return groups.getOrDefault(key, Collections.emptyList());
+    }
+
+    /**
+     * Get the first rows of a group.
+     *
+     * @param key  The group.
+     * @param topN How many rows to return at most.
+     * @return An unmodifiable view of at most topN rows in ranking order.
+     */
+    public List<T> top(String key, int topN) {
+        List<T> group = get(key);
+        return group.subList(0, Math.max(0, Math.min(topN, group.size())));
+    }
+
+    /**
+     * Get the keys of all groups.
+     *
+     * @return An unmodifiable set of keys.
+     */
+    public Set<String> keys() {
+        return groups.keySet();
+    }
+}
@@ -0,0 +1,336 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+
+/**
+ * Compiles each shape of {@link ReportQuery} once into a plan for each
+ * backend and keeps it: a scan of the snapshot's ranked lists, or a
+ * parameterised SQL query. Plans are kept in arrays indexed by shape, so a
+ * hot report finds its plan without building SQL, hashing or locking.
+ * <p>
+ * The SQL reads rows in the order of the population indexes of
+ * db/migrations rather than sorting them. Listings of the whole world
+ * force the Population index, and cities of a district are read city
+ * first through the DistrictPopulation index. Cities filtered on a column
+ * of their country are joined in one query and sorted; no index holds both
+ * the country column and the city population, and the sort is bounded by
+ * the cities of the countries matched.
+ */
+final class ReportPlanner {
+
+    // Columns of a country row.
+    static final String COUNTRY_COLUMNS =
+            "SELECT code, name, continent, region, surfaceArea, indepYear, " +
+                    "population, lifeExpectancy, gnp, gnpOld, localName, " +
+                    "governmentForm, headOfState, capital ";
+
+    // Columns of a city row, with the country name in place of the code.
+    static final String CITY_COLUMNS =
+            "SELECT city.ID, city.Name AS cityName, country.Name AS countryName, city.District, city.Population ";
+
+    // Countries in population order, for listings with no filter to pick an index by.
+    static final String WORLD_COUNTRY_FROM = "FROM country FORCE INDEX (Population) ";
+
+    // Cities joined to their country, read city first so that a city index gives the order.
+    static final String CITY_FROM = "FROM city STRAIGHT_JOIN country ON city.CountryCode = country.Code ";
+
+    // Cities joined to their country, in the join order the optimiser picks, for filters on a country column.
+    static final String JOINED_CITY_FROM = "FROM city JOIN country ON city.CountryCode = country.Code ";
+
+    // Cities in population order joined to their country, for listings with no city filter.
+    static final String WORLD_CITY_FROM =
+            "FROM city FORCE INDEX (Population) STRAIGHT_JOIN country ON city.CountryCode = country.Code ";
+
+    // Snapshot plans, by shape; null until first used.
+    private final AtomicReferenceArray<ScanPlan> scanPlans = new AtomicReferenceArray<>(ReportQuery.SHAPES);
+
+    // SQL plans, by shape; null until first used.
+    private final AtomicReferenceArray<SqlPlan> sqlPlans = new AtomicReferenceArray<>(ReportQuery.SHAPES);
+
+    /**
+     * Get the plan answering queries of the same shape from a snapshot,
+     * compiling it on first use.
+     *
+     * @param query The query.
+     * @return The plan.
+     */
+    ScanPlan scanPlan(ReportQuery<?> query) {
+        int shape = query.getShape();
+        ScanPlan plan = scanPlans.get(shape);
+        if (plan == null) {
+            // Two threads may compile the same shape; both plans are equal, keep the first
+            scanPlans.compareAndSet(shape, null, compileScan(query));
+            plan = scanPlans.get(shape);
+        }
+        return plan;
+    }
+
+    /**
+     * Get the plan answering queries of the same shape from the database,
+     * compiling it on first use.
+     *
+     * @param query The query.
+     * @return The plan.
+     */
+    SqlPlan sqlPlan(ReportQuery<?> query) {
+        int shape = query.getShape();
+        SqlPlan plan = sqlPlans.get(shape);
+        if (plan == null) {
+            sqlPlans.compareAndSet(shape, null, compileSql(query));
+            plan = sqlPlans.get(shape);
+        }
+        return plan;
+    }
+
+    /**
+     * Get the number of plans compiled so far.
+     *
+     * @return The number of snapshot and SQL plans kept.
+     */
+    int size() {
+        int size = 0;
+        for (int i = 0; i < ReportQuery.SHAPES; i++) {
+            size += (scanPlans.get(i) == null ? 0 : 1) + (sqlPlans.get(i) == null ? 0 : 1);
+        }
+        return size;
+    }
+
+    /**
+     * Picks the ranked list of the shape and how to cut it.
+     */
+    private static ScanPlan compileScan(ReportQuery<?> query) {
+        Scope scope = query.getScope();
+        BiFunction<WorldSnapshot, String, List<?>> ranked;
+        switch (query.getEntity()) {
+            case COUNTRY:
+                ranked = (snapshot, key) -> snapshot.getCountries(scope, key);
+                break;
+            case CITY:
+                ranked = (snapshot, key) -> snapshot.getCityRows(scope, key);
+                break;
+            default:
+                ranked = (snapshot, key) -> snapshot.getCapitalRows(scope, key);
+                break;
+        }
+
+        // Every list is a view; nothing is copied or sorted
+        boolean ascending = query.getOrder() == ReportQuery.Order.ASCENDING;
+        if (!query.isLimited()) {
+            return ascending
+                    ? (snapshot, key, topN) -> ranked.apply(snapshot, key).reversed()
+                    : (snapshot, key, topN) -> ranked.apply(snapshot, key);
+        }
+        return ascending
+                ? (snapshot, key, topN) -> top(ranked.apply(snapshot, key).reversed(), topN)
+                : (snapshot, key, topN) -> top(ranked.apply(snapshot, key), topN);
+    }
+
+    /**
+     * Builds the SQL of the shape.
+     */
+    private static SqlPlan compileSql(ReportQuery<?> query) {
+        boolean ascending = query.getOrder() == ReportQuery.Order.ASCENDING;
+        String column;
+        String strSelect;
+        RowMapper<?> mapper;
+        switch (query.getEntity()) {
+            case COUNTRY:
+                column = countryScopeColumn(query.getScope());
+                strSelect = COUNTRY_COLUMNS +
+                        (column == null ? WORLD_COUNTRY_FROM : "FROM country WHERE " + column + " = ? ") +
+                        (ascending ? "ORDER BY population, code DESC " : "ORDER BY population DESC, code ");
+                mapper = CountryMapper.INSTANCE;
+                break;
+            case CITY:
+                column = cityScopeColumn(query.getScope());
+                strSelect = CITY_COLUMNS +
+                        cityFrom(query.getScope()) +
+                        (column == null ? "" : "WHERE " + column + " = ? ") +
+                        (ascending ? "ORDER BY city.Population, city.ID DESC " : "ORDER BY city.Population DESC, city.ID ");
+                mapper = CityMapper.JOINED;
+                break;
+            default:
+                // One capital per country, ordered by the city joined to it; sorting the few rows is cheapest
+                column = query.getScope() == Scope.WORLD ? null : countryScopeColumn(query.getScope());
+                strSelect = CITY_COLUMNS +
+                        "FROM country " +
+                        "JOIN city ON country.Capital = city.ID " +
+                        (column == null ? "" : "WHERE country." + column + " = ? ") +
+                        (ascending ? "ORDER BY city.Population, city.ID DESC " : "ORDER BY city.Population DESC, city.ID ");
+                mapper = CityMapper.JOINED;
+                break;
+        }
+        if (query.isLimited()) {
+            strSelect += "LIMIT ?";
+        }
+        return new SqlPlan(query.getShapeName(), strSelect.trim(), mapper, column != null, query.isLimited());
+    }
+
+    /**
+     * Get the FROM clause of a city listing of a scope: the Population index
+     * for the world, city first for a district, and a join the optimiser
+     * orders for scopes on a country column.
+     *
+     * @param scope The scope.
+     * @return The clause, ending in a space.
+     */
+    static String cityFrom(Scope scope) {
+        switch (scope) {
+            case WORLD:
+                return WORLD_CITY_FROM;
+            case DISTRICT:
+                return CITY_FROM;
+            default:
+                return JOINED_CITY_FROM;
+        }
+    }
+
+    /**
+     * Get the country column a scope filters on.
+     *
+     * @param scope The scope.
+     * @return The column, or null for WORLD.
+     * @throws IllegalArgumentException If countries cannot be listed by the scope.
+     */
+    static String countryScopeColumn(Scope scope) {
+        switch (scope) {
+            case WORLD:
+                return null;
+            case CONTINENT:
+                return "continent";
+            case REGION:
+                return "region";
+            case COUNTRY:
+                return "name";
+            default:
+                throw new IllegalArgumentException("Countries cannot be listed by " + scope);
+        }
+    }
+
+    /**
+     * Get the city or country column a scope filters cities on.
+     *
+     * @param scope The scope.
+     * @return The column, or null for WORLD.
+     * @throws IllegalArgumentException If cities cannot be listed by the scope.
+     */
+    static String cityScopeColumn(Scope scope) {
+        switch (scope) {
+            case WORLD:
+                return null;
+            case CONTINENT:
+                return "country.Continent";
+            case REGION:
+                return "country.Region";
+            case COUNTRY:
+                return "country.Name";
+            case DISTRICT:
+                return "city.District";
+            default:
+                throw new IllegalArgumentException("Cities cannot be listed by " + scope);
+        }
+    }
+
+    /**
+     * Get the first rows of a list.
+     */
+    private static List<?> top(List<?> rows, int topN) {
+        return rows.subList(0, Math.min(topN, rows.size()));
+    }
+
+    /**
+     * A compiled plan that answers a query from a snapshot.
+     */
+    @FunctionalInterface
+    interface ScanPlan {
+
+        /**
+         * Runs the plan.
+         *
+         * @param snapshot The snapshot.
+         * @param key      The key of the query.
+         * @param topN     The limit of the query, if it is limited.
+         * @return An unmodifiable view of the rows.
+         */
+        List<?> scan(WorldSnapshot snapshot, String key, int topN);
+    }
+
+    /**
+     * A compiled plan that answers a query from the database.
+     */
+    static final class SqlPlan {
+
+        // The name the query is recorded under.
+        private final String name;
+
+        // The query, with the key and then the limit as parameters.
+        private final String sql;
+
+        // Maps each row of the result.
+        private final RowMapper<?> mapper;
+
+        // Whether the key is a parameter.
+        private final boolean keyed;
+
+        // Whether the limit is a parameter.
+        private final boolean limited;
+
+        SqlPlan(String name, String sql, RowMapper<?> mapper, boolean keyed, boolean limited) {
+            this.name = name;
+            this.sql = sql;
+            this.mapper = mapper;
+            this.keyed = keyed;
+            this.limited = limited;
+        }
+
+        /**
+         * Get the name the query is recorded under.
+         *
+         * @return The shape name.
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Get the query.
+         *
+         * @return The SQL text.
+         */
+        String getSql() {
+            return sql;
+        }
+
+        /**
+         * Get the mapper of the rows.
+         *
+         * @return The row mapper.
+         */
+        RowMapper<?> getMapper() {
+            return mapper;
+        }
+
+        /**
+         * Get the values of the parameters of a query of this shape.
+         *
+         * @param query The query.
+         * @return The key and the limit, where they are parameters.
+         */
+        Object[] parameters(ReportQuery<?> query) {
+            if (keyed && limited) {
+                return new Object[]{query.getKey(), query.getTopN()};
+            }
+            if (keyed) {
+                return new Object[]{query.getKey()};
+            }
+            return limited ? new Object[]{query.getTopN()} : new Object[0];
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.Locale;
+
+/**
+ * A population report described by what it lists rather than how: the
+ * countries, cities or capital cities of a scope, ordered by population,
+ * optionally only the top N.
+ * <p>
+ * Queries with the same entity, scope, order and whether they are limited
+ * share a shape; only the key and the limit differ. {@link App#run(ReportQuery)}
+ * compiles each shape once into a plan for the active backend and reuses it.
+ * For example:
+ * <pre>{@code
+ * ReportQuery<City> query = ReportQuery.cities().in(Scope.REGION, "Caribbean").top(10).build();
+ * }</pre>
+ *
+ * @param <T> The type of the rows: Country, or City for cities and capitals.
+ */
+public final class ReportQuery<T> {
+
+    /**
+     * What a report lists.
+     */
+    public enum Entity {
+        // Countries; scopes WORLD, CONTINENT, REGION and COUNTRY.
+        COUNTRY,
+        // Cities with the country name in place of the code; every scope but CITY.
+        CITY,
+        // Capital cities, in the same form as cities; scopes WORLD, CONTINENT and REGION.
+        CAPITAL
+    }
+
+    /**
+     * The order of the rows, by population. Rows with equal populations are
+     * ordered by country code or city ID, and the ascending order is the
+     * exact reverse of the descending one.
+     */
+    public enum Order {
+        // Largest first.
+        DESCENDING,
+        // Smallest first.
+        ASCENDING
+    }
+
+    // Number of distinct query shapes.
+    static final int SHAPES = Entity.values().length * Scope.values().length * Order.values().length * 2;
+
+    // What the report lists.
+    private final Entity entity;
+
+    // The area the report covers.
+    private final Scope scope;
+
+    // The name of the continent, region, country or district; null for WORLD.
+    private final String key;
+
+    // The order of the rows.
+    private final Order order;
+
+    // How many rows to return at most; -1 for all.
+    private final int topN;
+
+    private ReportQuery(Builder<T> builder) {
+        this.entity = builder.entity;
+        this.scope = builder.scope;
+        this.key = builder.key;
+        this.order = builder.order;
+        this.topN = builder.topN;
+    }
+
+    /**
+     * Starts a report on countries.
+     *
+     * @return A builder for the whole world, largest first, with no limit.
+     */
+    public static Builder<Country> countries() {
+        return new Builder<>(Entity.COUNTRY);
+    }
+
+    /**
+     * Starts a report on cities.
+     *
+     * @return A builder for the whole world, largest first, with no limit.
+     */
+    public static Builder<City> cities() {
+        return new Builder<>(Entity.CITY);
+    }
+
+    /**
+     * Starts a report on capital cities.
+     *
+     * @return A builder for the whole world, largest first, with no limit.
+     */
+    public static Builder<City> capitals() {
+        return new Builder<>(Entity.CAPITAL);
+    }
+
+    /**
+     * Get what the report lists.
+     *
+     * @return The entity.
+     */
+    public Entity getEntity() {
+        return entity;
+    }
+
+    /**
+     * Get the area the report covers.
+     *
+     * @return The scope.
+     */
+    public Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * Get the name of the place the report covers.
+     *
+     * @return The name of the continent, region, country or district; null for WORLD.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Get the order of the rows.
+     *
+     * @return The order.
+     */
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Get how many rows the report returns at most.
+     *
+     * @return The limit; -1 for all.
+     */
+    public int getTopN() {
+        return topN;
+    }
+
+    /**
+     * Tells whether the report returns only the top N rows.
+     *
+     * @return True if there is a limit.
+     */
+    public boolean isLimited() {
+        return topN >= 0;
+    }
+
+    /**
+     * Get the number of the shape of the query, from 0 to {@link #SHAPES}
+     * - 1. Queries that differ only in key and limit share a shape.
+     *
+     * @return The shape number.
+     */
+    int getShape() {
+        return ((entity.ordinal() * Scope.values().length + scope.ordinal()) * Order.values().length
+                + order.ordinal()) * 2 + (isLimited() ? 1 : 0);
+    }
+
+    /**
+     * Get the name of the shape of the query, such as "city region top",
+     * under which its runs are recorded in the metrics.
+     *
+     * @return The shape name.
+     */
+    String getShapeName() {
+        return entity.name().toLowerCase(Locale.ROOT) + " " + scope.name().toLowerCase(Locale.ROOT)
+                + (order == Order.ASCENDING ? " ascending" : "") + (isLimited() ? " top" : "");
+    }
+
+    @Override
+    public String toString() {
+        return getShapeName() + (key == null ? "" : " " + key) + (isLimited() ? " " + topN : "");
+    }
+
+    /**
+     * Describes a report step by step.
+     *
+     * @param <T> The type of the rows.
+     */
+    public static final class Builder<T> {
+
+        // What the report lists.
+        private final Entity entity;
+
+        // The area the report covers.
+        private Scope scope = Scope.WORLD;
+
+        // The name of the place the report covers.
+        private String key;
+
+        // The order of the rows.
+        private Order order = Order.DESCENDING;
+
+        // How many rows to return at most; -1 for all.
+        private int topN = -1;
+
+        private Builder(Entity entity) {
+            this.entity = entity;
+        }
+
+        /**
+         * Narrows the report down to one place.
+         *
+         * @param scope The level of the place.
+         * @param key   The name of the continent, region, country or district; ignored for WORLD.
+         * @return This builder.
+         */
+        public Builder<T> in(Scope scope, String key) {
+            this.scope = scope;
+            this.key = scope == Scope.WORLD ? null : key;
+            return this;
+        }
+
+        /**
+         * Sets the order of the rows.
+         *
+         * @param order The order by population.
+         * @return This builder.
+         */
+        public Builder<T> order(Order order) {
+            this.order = order;
+            return this;
+        }
+
+        /**
+         * Keeps only the first rows.
+         *
+         * @param topN How many rows to return at most.
+         * @return This builder.
+         */
+        public Builder<T> top(int topN) {
+            if (topN < 0) {
+                throw new IllegalArgumentException("The number of rows must not be negative");
+            }
+            this.topN = topN;
+            return this;
+        }
+
+        /**
+         * Builds the query.
+         *
+         * @return The query.
+         * @throws IllegalArgumentException If the entity cannot be listed by the scope, or the key is missing.
+         */
+        public ReportQuery<T> build() {
+            boolean supported;
+            switch (entity) {
+                case COUNTRY:
+                    supported = scope != Scope.DISTRICT && scope != Scope.CITY;
+                    break;
+                case CITY:
+                    supported = scope != Scope.CITY;
+                    break;
+                default:
+                    supported = scope == Scope.WORLD || scope == Scope.CONTINENT || scope == Scope.REGION;
+                    break;
+            }
+            if (!supported) {
+                throw new IllegalArgumentException(entity + " cannot be listed by " + scope);
+            }
+            if (scope != Scope.WORLD && key == null) {
+                throw new IllegalArgumentException("The name of the " + scope.name().toLowerCase(Locale.ROOT)
+                        + " is missing");
+            }
+            return new ReportQuery<>(this);
+        }
+    }
+}
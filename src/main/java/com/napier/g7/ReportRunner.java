@@ -0,0 +1,179 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a suite of independent reports at the same time, one virtual thread
+ * per report.
+ * <p>
+ * While the suite runs, everything a report writes to System.out is captured
+ * in a buffer of its own. Each buffer is printed as soon as its report and
+ * every report added before it have finished, so the output comes out in the
+ * order the reports were added, whatever order they finish in. Reports that
+ * query the database borrow their own pooled connection, so the suite takes
+ * about as long as its slowest report.
+ */
+public class ReportRunner {
+
+    // Reports in the order their output is printed.
+    private final List<Report> reports = new ArrayList<>();
+
+    /**
+     * Adds a report to the suite.
+     *
+     * @param name   The name shown in the timing summary.
+     * @param report The report; it prints its output to System.out.
+     * @return This runner, to chain further reports.
+     */
+    public ReportRunner add(String name, Runnable report) {
+        reports.add(new Report(name, report));
+        return this;
+    }
+
+    /**
+     * Runs every report, prints their output in order, then prints a timing
+     * summary. Blocks until all reports have finished.
+     */
+    public void run() {
+        PrintStream console = System.out;
+        RoutingOutputStream routing = new RoutingOutputStream(console);
+        System.setOut(new PrintStream(routing, true));
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Start every report
+            List<Future<?>> futures = new ArrayList<>(reports.size());
+            for (Report report : reports) {
+                futures.add(executor.submit(() -> report.run(routing)));
+            }
+
+            // Print each report's output once it and those before it are done
+            for (int i = 0; i < reports.size(); i++) {
+                Report report = reports.get(i);
+                try {
+                    futures.get(i).get();
+                } catch (Exception e) {
+                    report.failure = e.getCause() != null ? e.getCause() : e;
+                }
+                report.output.writeTo(console);
+                if (report.failure != null) {
+                    console.println("Report " + report.name + " failed: " + report.failure);
+                }
+                console.flush();
+            }
+        } catch (IOException e) {
+            console.println("Failed to print report output: " + e.getMessage());
+        } finally {
+            System.setOut(console);
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        printSummary(console, wallNanos);
+    }
+
+    /**
+     * Prints how long each report took, the sum of those times and the
+     * wall-clock time of the whole suite.
+     */
+    private void printSummary(PrintStream out, long wallNanos) {
+        out.println();
+        out.println(String.format("%-50s %12s", "Report", "Time (ms)"));
+        long total = 0;
+        for (Report report : reports) {
+            total += report.nanos;
+            out.println(String.format("%-50s %12.2f", report.name, report.nanos / 1e6));
+        }
+        out.println(String.format("%-50s %12.2f", "Sum of report times", total / 1e6));
+        out.println(String.format("%-50s %12.2f", "Wall-clock time", wallNanos / 1e6));
+    }
+
+    /**
+     * A named report, its captured output and its timing.
+     */
+    private static final class Report {
+
+        // Name shown in the timing summary.
+        final String name;
+
+        // The report itself.
+        final Runnable body;
+
+        // Everything the report printed.
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // How long the report ran.
+        volatile long nanos;
+
+        // Why the report failed, if it did.
+        Throwable failure;
+
+        Report(String name, Runnable body) {
+            this.name = name;
+            this.body = body;
+        }
+
+        /**
+         * Runs the report with System.out routed to its own buffer.
+         */
+        void run(RoutingOutputStream routing) {
+            routing.target.set(output);
+            long start = System.nanoTime();
+            try {
+                body.run();
+            } finally {
+                nanos = System.nanoTime() - start;
+                routing.target.remove();
+            }
+        }
+    }
+
+    /**
+     * Sends each thread's output to the buffer that thread registered, or to
+     * the console if it registered none.
+     */
+    private static final class RoutingOutputStream extends OutputStream {
+
+        // The buffer of the report running on the current thread.
+        final ThreadLocal<OutputStream> target = new ThreadLocal<>();
+
+        // Where output of threads that are not running a report goes.
+        private final OutputStream console;
+
+        RoutingOutputStream(OutputStream console) {
+            this.console = console;
+        }
+
+        private OutputStream current() {
+            OutputStream out = target.get();
+            return out != null ? out : console;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            current().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            current().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            current().flush();
+        }
+    }
+}
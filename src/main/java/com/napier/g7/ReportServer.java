@@ -0,0 +1,404 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the reports over HTTP from a long-running process, so the JVM,
+ * the connection pool, the snapshot and the compiled code stay warm between
+ * requests.
+ * <p>
+ * Every request is handled on its own virtual thread and answered from the
+ * in-memory snapshot of the App, as a plain text table. The endpoints are:
+ * <ul>
+ *     <li>{@code GET /countries?scope=&key=&n=}: countries in the world, a
+ *     continent, a region or a country, optionally only the top n;</li>
+ *     <li>{@code GET /cities?scope=&key=&n=}: cities in the world, a
+ *     continent, a region, a country or a district;</li>
+ *     <li>{@code GET /countries?scope=&key=&size=&after=} and
+ *     {@code GET /cities?scope=&key=&size=&after=}: one page of size rows
+ *     following the page whose token is given in after; the token of the
+ *     next page is sent in the X-Next-Page header, which is missing on the
+ *     last page;</li>
+ *     <li>{@code GET /capitals?scope=&key=&n=}: capital cities in the world,
+ *     a continent or a region;</li>
+ *     <li>{@code GET /population?scope=&key=}: the population of one place,
+ *     or of every place of the scope if no key is given;</li>
+ *     <li>{@code GET /languages?language=}: the speakers of each language
+ *     given, comma separated or repeated;</li>
+ *     <li>{@code GET /health}: 200 once the snapshot is loaded.</li>
+ * </ul>
+ * The scope defaults to world, and every other scope of the listings needs
+ * a key. Bad parameters are answered with 400. The
+ * time spent writing each report is recorded in the App's metrics under
+ * the method and path, such as "GET /countries".
+ */
+public class ReportServer implements AutoCloseable {
+
+    // Number of pending connections the server socket queues.
+    private static final int BACKLOG = 1024;
+
+    // Seconds to let requests in progress finish when stopping.
+    private static final int STOP_DELAY_SECONDS = 2;
+
+    // Languages reported when none are asked for.
+    private static final List<String> DEFAULT_LANGUAGES = List.of("Chinese", "English", "Hindi", "Spanish", "Arabic");
+
+    // The application whose snapshot answers the requests.
+    private final App app;
+
+    // The HTTP server.
+    private final HttpServer server;
+
+    // Runs each request on a virtual thread of its own.
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Renderers not in use; virtual threads are not reused, so thread locals would not help.
+    private final ConcurrentLinkedQueue<TableRenderer> renderers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a server listening on the given port. It does not accept
+     * requests until {@link #start()} is called.
+     *
+     * @param app  The application; it should have loaded its snapshot.
+     * @param port The port to listen on; 0 picks a free port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public ReportServer(App app, int port) throws IOException {
+        this.app = app;
+        // Send each response at once rather than waiting for the client to acknowledge the headers
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/countries", report(this::countries));
+        server.createContext("/cities", report(this::cities));
+        server.createContext("/capitals", report(this::capitals));
+        server.createContext("/population", report(this::population));
+        server.createContext("/languages", report(this::languages));
+        server.createContext("/health", report(this::health));
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Get the port the server listens on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, lets those in progress finish for a moment,
+     * then stops.
+     */
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.close();
+    }
+
+    /**
+     * Writes the countries of a scope.
+     */
+    private void countries(WorldSnapshot snapshot, Map<String, String> params, TableRenderer renderer, Headers headers) {
+        Scope scope = scope(params);
+        String key = key(scope, params);
+        Integer n = topN(params);
+        Integer size = pageSize(params);
+        List<Country> countries;
+        if (size != null) {
+            PageToken after = PageToken.decodeCountry(params.get("after"));
+            Page<Country> page = Page.of(snapshot.countriesAfter(scope, key, after, size + 1), size, PageToken::of);
+            nextPage(page, headers);
+            countries = page.getRows();
+        } else {
+            countries = n == null ? snapshot.getCountries(scope, key) : snapshot.topCountries(scope, key, n);
+        }
+        renderer.countryHeader();
+        for (Country country : countries) {
+            renderer.country(country);
+        }
+    }
+
+    /**
+     * Writes the cities of a scope.
+     */
+    private void cities(WorldSnapshot snapshot, Map<String, String> params, TableRenderer renderer, Headers headers) {
+        Scope scope = scope(params);
+        String key = key(scope, params);
+        Integer n = topN(params);
+        Integer size = pageSize(params);
+        List<City> cities;
+        if (size != null) {
+            PageToken after = PageToken.decodeCity(params.get("after"));
+            Page<City> page = Page.of(snapshot.cityRowsAfter(scope, key, after, size + 1), size, PageToken::of);
+            nextPage(page, headers);
+            cities = page.getRows();
+        } else {
+            cities = n == null ? snapshot.getCityRows(scope, key) : snapshot.topCityRows(scope, key, n);
+        }
+        renderer.cityHeader();
+        for (City city : cities) {
+            renderer.city(city);
+        }
+    }
+
+    /**
+     * Writes the capital cities of a scope.
+     */
+    private void capitals(WorldSnapshot snapshot, Map<String, String> params, TableRenderer renderer, Headers headers) {
+        Scope scope = scope(params);
+        String key = key(scope, params);
+        Integer n = topN(params);
+        List<City> capitals = n == null ? snapshot.getCapitalRows(scope, key) : snapshot.topCapitalRows(scope, key, n);
+        renderer.capitalHeader();
+        for (City capital : capitals) {
+            renderer.capital(capital);
+        }
+    }
+
+    /**
+     * Writes the population of one place, or of every place of a scope.
+     */
+    private void population(WorldSnapshot snapshot, Map<String, String> params, TableRenderer renderer, Headers headers) {
+        Scope scope = scope(params);
+        String key = params.get("key");
+        PopulationRollup rollup = snapshot.getPopulationRollup();
+        List<PopulationRollup.Node> nodes;
+        if (key == null && scope != Scope.WORLD) {
+            nodes = rollup.getAll(scope);
+        } else {
+            PopulationRollup.Node node = rollup.get(scope, key);
+            if (node == null) {
+                throw new IllegalArgumentException("No " + scope.name().toLowerCase(Locale.ROOT) + " named " + key);
+            }
+            nodes = List.of(node);
+        }
+        renderer.populationHeader();
+        for (PopulationRollup.Node node : nodes) {
+            renderer.population(node);
+        }
+    }
+
+    /**
+     * Writes the speakers of the asked languages.
+     */
+    private void languages(WorldSnapshot snapshot, Map<String, String> params, TableRenderer renderer, Headers headers) {
+        String asked = params.get("language");
+        List<String> languages = asked == null ? DEFAULT_LANGUAGES : List.of(asked.split(","));
+        renderer.languageHeader();
+        for (LanguageSpeakers speakers : snapshot.getLanguageTable().speakers(languages)) {
+            renderer.language(speakers);
+        }
+    }
+
+    /**
+     * Writes nothing; reaching it means the snapshot is loaded.
+     */
+    private void health(WorldSnapshot snapshot, Map<String, String> params, TableRenderer renderer, Headers headers) {
+    }
+
+    /**
+     * Wraps a report in an HTTP handler: parses the query string, renders
+     * the report into a buffer and sends it with the right status.
+     */
+    private HttpHandler report(Report report) {
+        return exchange -> {
+            try (exchange) {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    send(exchange, 405, "Only GET is supported\n");
+                    return;
+                }
+                WorldSnapshot snapshot = app.getSnapshot();
+                if (snapshot == null) {
+                    send(exchange, 503, "The world snapshot is not loaded\n");
+                    return;
+                }
+
+                QueryMetrics metrics = app.getMetrics().get("GET " + exchange.getHttpContext().getPath());
+                long start = System.nanoTime();
+                TableRenderer renderer = renderers.poll();
+                if (renderer == null) {
+                    renderer = new TableRenderer();
+                }
+                ByteArrayOutputStream body = new ByteArrayOutputStream(8192);
+                try {
+                    renderer.setOutput(body);
+                    report.write(snapshot, parameters(exchange), renderer, exchange.getResponseHeaders());
+                } catch (IllegalArgumentException e) {
+                    metrics.recordError();
+                    send(exchange, 400, e.getMessage() + "\n");
+                    return;
+                } catch (RuntimeException e) {
+                    metrics.recordError();
+                    send(exchange, 500, "Failed to write the report: " + e + "\n");
+                    return;
+                } finally {
+                    // Leave the renderer empty for the next request
+                    renderer.flush();
+                    renderers.offer(renderer);
+                }
+                metrics.recordRender(System.nanoTime() - start);
+                send(exchange, 200, body);
+            }
+        };
+    }
+
+    /**
+     * Reads the scope parameter; world if it is missing.
+     */
+    private static Scope scope(Map<String, String> params) {
+        String scope = params.get("scope");
+        if (scope == null) {
+            return Scope.WORLD;
+        }
+        try {
+            return Scope.valueOf(scope.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown scope " + scope);
+        }
+    }
+
+    /**
+     * Reads the key parameter of a listing; every scope but world needs one.
+     */
+    private static String key(Scope scope, Map<String, String> params) {
+        String key = params.get("key");
+        if (scope != Scope.WORLD && (key == null || key.isEmpty())) {
+            throw new IllegalArgumentException("key is required for scope " + scope.name().toLowerCase(Locale.ROOT));
+        }
+        return key;
+    }
+
+    /**
+     * Reads the n parameter; null if it is missing.
+     */
+    private static Integer topN(Map<String, String> params) {
+        String n = params.get("n");
+        if (n == null) {
+            return null;
+        }
+        try {
+            int value = Integer.parseInt(n);
+            if (value < 0) {
+                throw new IllegalArgumentException("n must not be negative");
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("n must be a number");
+        }
+    }
+
+    /**
+     * Reads the size parameter; null if it is missing.
+     */
+    private static Integer pageSize(Map<String, String> params) {
+        String size = params.get("size");
+        if (size == null) {
+            return null;
+        }
+        try {
+            int value = Integer.parseInt(size);
+            if (value < 1 || value > Page.MAX_SIZE) {
+                throw new IllegalArgumentException("size must be from 1 to " + Page.MAX_SIZE);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("size must be a number");
+        }
+    }
+
+    /**
+     * Sends the token of the next page, if there is one.
+     */
+    private static void nextPage(Page<?> page, Headers headers) {
+        if (page.hasNext()) {
+            headers.set("X-Next-Page", page.getNextToken());
+        }
+    }
+
+    /**
+     * Decodes the query string of a request. A parameter given several
+     * times has its values joined with commas.
+     */
+    private static Map<String, String> parameters(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.merge(name, value, (a, b) -> a + "," + b);
+        }
+        return params;
+    }
+
+    /**
+     * Sends a plain text response.
+     */
+    private static void send(HttpExchange exchange, int status, String text) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        send(exchange, status, body);
+    }
+
+    /**
+     * Sends a plain text response with the given body.
+     */
+    private static void send(HttpExchange exchange, int status, ByteArrayOutputStream body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.size() == 0 ? -1 : body.size());
+        if (body.size() > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                body.writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * A report written from the snapshot.
+     */
+    @FunctionalInterface
+    private interface Report {
+
+        /**
+         * Writes the report, and any headers of its own.
+         *
+         * @throws IllegalArgumentException If the parameters are invalid.
+         */
+        void write(WorldSnapshot snapshot, Map<String, String> params, TableRenderer renderer, Headers headers);
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of query results that is safe to share between threads.
+ * <p>
+ * Entries expire {@link #setTtlMillis(long) a fixed time} after they were
+ * loaded, and once the cache holds {@link #setMaxEntries(int) its maximum}
+ * the least recently used entry is evicted. When several threads miss on the
+ * same key at once, only the first runs the loader; the others wait for its
+ * result. A loader returning null, or throwing, caches nothing, so the next
+ * call tries again.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the cached values.
+ */
+public final class ResultCache<K, V> {
+
+    // Entries, least recently used first.
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Maximum number of entries kept.
+    private volatile int maxEntries;
+
+    // How long an entry stays valid after it was loaded.
+    private volatile long ttlMillis;
+
+    // Lookups answered from the cache, including those that waited for a load in progress.
+    private final AtomicLong hits = new AtomicLong();
+
+    // Lookups that ran the loader.
+    private final AtomicLong misses = new AtomicLong();
+
+    // Entries removed because the cache was full or they had expired.
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries The maximum number of entries kept.
+     * @param ttlMillis  How long an entry stays valid after it was loaded.
+     */
+    public ResultCache(int maxEntries, long ttlMillis) {
+        setMaxEntries(maxEntries);
+        setTtlMillis(ttlMillis);
+    }
+
+    /**
+     * Set the maximum number of entries kept. If the cache holds more, the
+     * least recently used are evicted on the next load.
+     *
+     * @param maxEntries The maximum, at least 1.
+     */
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Set how long an entry stays valid after it was loaded. Applies to
+     * entries already in the cache too.
+     *
+     * @param ttlMillis The time to live in milliseconds.
+     */
+    public void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Get the value of a key, loading it if it is not cached or has expired.
+     *
+     * @param key    The key.
+     * @param loader Loads the value; it may return null, which is not cached.
+     * @return The cached or loaded value, or null if the loader returned null.
+     */
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry;
+        boolean load = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(ttlMillis)) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry<>();
+                entries.put(key, entry);
+                load = true;
+                evictEldest();
+            }
+        }
+
+        if (!load) {
+            hits.incrementAndGet();
+            return entry.value.join();
+        }
+
+        misses.incrementAndGet();
+        V value = null;
+        try {
+            value = loader.get();
+        } finally {
+            if (value == null) {
+                // Nothing to cache; let the next call try again
+                synchronized (entries) {
+                    entries.remove(key, entry);
+                }
+            } else {
+                entry.loadedAt = System.nanoTime();
+            }
+            entry.value.complete(value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes one key from the cache.
+     *
+     * @param key The key to remove.
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry from the cache.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Get the number of entries in the cache, including loads in progress.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Get the number of lookups answered from the cache.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of lookups that ran the loader.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of entries removed because the cache was full or they had expired.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Get the share of lookups answered from the cache.
+     *
+     * @return The hit rate, from 0 to 1; 0 if there have been no lookups.
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return "Cache: " + size() + " entries (max " + maxEntries + "), " + getHitCount() + " hits, "
+                + getMissCount() + " misses, " + getEvictionCount() + " evictions, "
+                + String.format("%.1f%%", getHitRate() * 100) + " hit rate";
+    }
+
+    /**
+     * Evicts least recently used entries until the cache is within its bound.
+     * Loads still in progress are left alone. Called with the lock held.
+     */
+    private void evictEldest() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        int excess = entries.size() - maxEntries;
+        while (excess > 0 && it.hasNext()) {
+            if (it.next().getValue().value.isDone()) {
+                it.remove();
+                evictions.incrementAndGet();
+                excess--;
+            }
+        }
+    }
+
+    /**
+     * A cached value and when it was loaded.
+     */
+    private static final class Entry<V> {
+
+        // The value, completed once the loader has returned.
+        final CompletableFuture<V> value = new CompletableFuture<>();
+
+        // When the value was loaded, from System.nanoTime; written before value completes.
+        volatile long loadedAt;
+
+        /**
+         * Whether the value has outlived the time to live. A load still in
+         * progress never counts as expired.
+         */
+        boolean isExpired(long ttlMillis) {
+            return value.isDone() && System.nanoTime() - loadedAt > ttlMillis * 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Turns the rows of a result set into objects.
+ * <p>
+ * The columns a mapper reads are looked up by label once per result set;
+ * every row after that is read by column position, which avoids the
+ * driver's case-insensitive name lookup for each column of each row.
+ * Mappers keep no state between calls and can be shared between threads.
+ *
+ * @param <T> The type of object each row becomes.
+ */
+public abstract class RowMapper<T> {
+
+    // Labels of the columns the mapper reads, in the order mapRow expects them.
+    private final String[] labels;
+
+    /**
+     * Creates a mapper reading the given columns.
+     *
+     * @param labels The column labels, in the order mapRow expects them.
+     */
+    protected RowMapper(String... labels) {
+        this.labels = labels.clone();
+    }
+
+    /**
+     * Maps every remaining row of a result set.
+     *
+     * @param rset The result set to read.
+     * @return The mapped rows, in result set order.
+     * @throws SQLException If a column is missing or cannot be read.
+     */
+    public ArrayList<T> mapAll(ResultSet rset) throws SQLException {
+        int[] cols = resolve(rset);
+        ArrayList<T> rows = new ArrayList<>();
+        while (rset.next()) {
+            rows.add(mapRow(rset, cols));
+        }
+        return rows;
+    }
+
+    /**
+     * Maps every remaining row of a result set, recording how long was spent
+     * moving to the next row and how long turning rows into objects.
+     *
+     * @param rset    The result set to read.
+     * @param metrics Where to record the fetch and hydration times.
+     * @return The mapped rows, in result set order.
+     * @throws SQLException If a column is missing or cannot be read.
+     */
+    public ArrayList<T> mapAll(ResultSet rset, QueryMetrics metrics) throws SQLException {
+        int[] cols = resolve(rset);
+        ArrayList<T> rows = new ArrayList<>();
+        long fetch = 0;
+        long hydration = 0;
+        long start = System.nanoTime();
+        while (true) {
+            boolean more = rset.next();
+            long fetched = System.nanoTime();
+            fetch += fetched - start;
+            if (!more) {
+                break;
+            }
+            rows.add(mapRow(rset, cols));
+            start = System.nanoTime();
+            hydration += start - fetched;
+        }
+        metrics.recordMapping(fetch, hydration);
+        return rows;
+    }
+
+    /**
+     * Maps every remaining row of a result set and hands it to a handler as
+     * soon as it is read.
+     *
+     * @param rset    The result set to read.
+     * @param handler Receives each mapped row in order.
+     * @return The number of rows mapped.
+     * @throws SQLException If a column is missing or cannot be read.
+     */
+    public int forEach(ResultSet rset, Consumer<? super T> handler) throws SQLException {
+        int[] cols = resolve(rset);
+        int count = 0;
+        while (rset.next()) {
+            handler.accept(mapRow(rset, cols));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the position of every column the mapper reads.
+     *
+     * @param rset The result set to read.
+     * @return The column positions, in label order.
+     * @throws SQLException If a column is missing.
+     */
+    public int[] resolve(ResultSet rset) throws SQLException {
+        int[] cols = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            cols[i] = rset.findColumn(labels[i]);
+        }
+        return cols;
+    }
+
+    /**
+     * Maps the current row.
+     *
+     * @param rset The result set, positioned on a row.
+     * @param cols The column positions returned by {@link #resolve(ResultSet)}.
+     * @return The mapped row.
+     * @throws SQLException If a column cannot be read.
+     */
+    public abstract T mapRow(ResultSet rset, int[] cols) throws SQLException;
+
+    /**
+     * Reads an integer column that may be SQL NULL.
+     */
+    protected static Integer getNullableInt(ResultSet rset, int col) throws SQLException {
+        int value = rset.getInt(col);
+        return rset.wasNull() ? null : value;
+    }
+
+    /**
+     * Reads a decimal column that may be SQL NULL.
+     */
+    protected static Float getNullableFloat(ResultSet rset, int col) throws SQLException {
+        float value = rset.getFloat(col);
+        return rset.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+/**
+ * The area a report covers. Except for WORLD, a scope is narrowed down by a
+ * key: the name of the continent, region, country, district or city.
+ */
+public enum Scope {
+    // The whole world; no key.
+    WORLD,
+    // One continent, keyed by continent name.
+    CONTINENT,
+    // One region, keyed by region name.
+    REGION,
+    // One country, keyed by country name.
+    COUNTRY,
+    // One district, keyed by district name.
+    DISTRICT,
+    // One city, keyed by city name.
+    CITY
+}
@@ -0,0 +1,387 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Saves a {@link WorldSnapshot} to a compact binary file and opens it again,
+ * so a restart does not have to fetch every row from MySQL.
+ * <p>
+ * The file starts with a header: a magic number, the format version, when
+ * the file was written, the length of the payload and a CRC32 of it. The
+ * payload holds one dictionary of every distinct string, followed by the
+ * country, city and countrylanguage tables as fixed-width little-endian
+ * columns, one after the other; strings are stored as dictionary numbers.
+ * <p>
+ * Files are opened with {@link FileChannel#map}, so the bytes come straight
+ * from the page cache, which is shared by every process on the host that
+ * opens the same file. Files are written to a temporary file first and moved
+ * into place, so a reader never sees half a file.
+ */
+public class SnapshotFile {
+
+    // "G7WS" in ASCII.
+    private static final int MAGIC = 0x47375753;
+
+    // Version of the layout; files of other versions are not read.
+    private static final int FORMAT_VERSION = 1;
+
+    // Bytes before the payload: magic, version, written at, payload length, CRC32.
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8;
+
+    // Stored in place of a null string.
+    private static final int NULL_STRING = -1;
+
+    // Stored in place of a null int.
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    /**
+     * Writes a snapshot to a file, replacing any file already there.
+     *
+     * @param snapshot The snapshot to write.
+     * @param path     The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(WorldSnapshot snapshot, Path path) throws IOException {
+        List<Country> countries = snapshot.getCountries();
+        List<City> cities = snapshot.getCities();
+        List<CountryLanguage> languages = snapshot.getLanguages();
+
+        // Number every distinct string
+        Dictionary dictionary = new Dictionary();
+        for (Country country : countries) {
+            dictionary.add(country.getCode());
+            dictionary.add(country.getName());
+            dictionary.add(country.getContinent());
+            dictionary.add(country.getRegion());
+            dictionary.add(country.getLocalName());
+            dictionary.add(country.getGovernmentForm());
+            dictionary.add(country.getHeadOfState());
+        }
+        for (City city : cities) {
+            dictionary.add(city.getName());
+            dictionary.add(city.getCountryCode());
+            dictionary.add(city.getDistrict());
+        }
+        for (CountryLanguage language : languages) {
+            dictionary.add(language.getCountryCode());
+            dictionary.add(language.getLanguage());
+        }
+
+        int payloadSize = dictionary.size()
+                + 4 + countries.size() * 14 * 4
+                + 4 + cities.size() * 5 * 4
+                + 4 + languages.size() * (3 * 4 + 1);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(HEADER_SIZE);
+
+        dictionary.write(buffer);
+
+        // Country columns
+        buffer.putInt(countries.size());
+        for (Country c : countries) buffer.putInt(dictionary.number(c.getCode()));
+        for (Country c : countries) buffer.putInt(dictionary.number(c.getName()));
+        for (Country c : countries) buffer.putInt(dictionary.number(c.getContinent()));
+        for (Country c : countries) buffer.putInt(dictionary.number(c.getRegion()));
+        for (Country c : countries) buffer.putFloat(c.getSurfaceArea());
+        for (Country c : countries) buffer.putInt(c.getIndepYear() == null ? NULL_INT : c.getIndepYear());
+        for (Country c : countries) buffer.putInt(c.getPopulation());
+        for (Country c : countries) buffer.putFloat(c.getLifeExpectancy() == null ? Float.NaN : c.getLifeExpectancy());
+        for (Country c : countries) buffer.putFloat(c.getGnp());
+        for (Country c : countries) buffer.putFloat(c.getGnpOld() == null ? Float.NaN : c.getGnpOld());
+        for (Country c : countries) buffer.putInt(dictionary.number(c.getLocalName()));
+        for (Country c : countries) buffer.putInt(dictionary.number(c.getGovernmentForm()));
+        for (Country c : countries) buffer.putInt(dictionary.number(c.getHeadOfState()));
+        for (Country c : countries) buffer.putInt(c.getCapital());
+
+        // City columns
+        buffer.putInt(cities.size());
+        for (City c : cities) buffer.putInt(c.getId());
+        for (City c : cities) buffer.putInt(dictionary.number(c.getName()));
+        for (City c : cities) buffer.putInt(dictionary.number(c.getCountryCode()));
+        for (City c : cities) buffer.putInt(dictionary.number(c.getDistrict()));
+        for (City c : cities) buffer.putInt(c.getPopulation());
+
+        // Country language columns
+        buffer.putInt(languages.size());
+        for (CountryLanguage l : languages) buffer.putInt(dictionary.number(l.getCountryCode()));
+        for (CountryLanguage l : languages) buffer.putInt(dictionary.number(l.getLanguage()));
+        for (CountryLanguage l : languages) buffer.putFloat(l.getPercentage());
+        for (CountryLanguage l : languages) buffer.put((byte) (l.isOfficial() ? 1 : 0));
+
+        // Header
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, payloadSize);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putLong(8, System.currentTimeMillis());
+        buffer.putLong(16, payloadSize);
+        buffer.putLong(24, crc.getValue());
+
+        // Write next to the target and move into place in one step
+        Path absolute = path.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Opens a snapshot file.
+     *
+     * @param path         The file to open.
+     * @param maxAgeMillis How old the file may be; older files count as stale.
+     * @return The snapshot stored in the file.
+     * @throws IOException If the file is missing, stale, of another format
+     *                     version, or corrupt.
+     */
+    public static WorldSnapshot read(Path path, long maxAgeMillis) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Snapshot file " + path + " is truncated");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            // Check the header
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("File " + path + " is not a world snapshot");
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Snapshot file " + path + " has format version " + buffer.getInt(4)
+                        + ", expected " + FORMAT_VERSION);
+            }
+            long age = System.currentTimeMillis() - buffer.getLong(8);
+            if (age > maxAgeMillis) {
+                throw new IOException("Snapshot file " + path + " is stale: written " + age / 1000 + " s ago");
+            }
+            long payloadSize = buffer.getLong(16);
+            if (payloadSize != size - HEADER_SIZE) {
+                throw new IOException("Snapshot file " + path + " is truncated");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(HEADER_SIZE, (int) payloadSize));
+            if (crc.getValue() != buffer.getLong(24)) {
+                throw new IOException("Snapshot file " + path + " is corrupt: checksum mismatch");
+            }
+
+            try {
+                buffer.position(HEADER_SIZE);
+                return readPayload(buffer);
+            } catch (RuntimeException e) {
+                throw new IOException("Snapshot file " + path + " is corrupt: " + e, e);
+            }
+        }
+    }
+
+    /**
+     * Reads the dictionary and the tables, and builds the snapshot.
+     */
+    private static WorldSnapshot readPayload(ByteBuffer buffer) {
+        String[] strings = Dictionary.read(buffer);
+
+        // Country columns
+        int n = buffer.getInt();
+        int[] code = ints(buffer, n);
+        int[] name = ints(buffer, n);
+        int[] continent = ints(buffer, n);
+        int[] region = ints(buffer, n);
+        float[] surfaceArea = floats(buffer, n);
+        int[] indepYear = ints(buffer, n);
+        int[] population = ints(buffer, n);
+        float[] lifeExpectancy = floats(buffer, n);
+        float[] gnp = floats(buffer, n);
+        float[] gnpOld = floats(buffer, n);
+        int[] localName = ints(buffer, n);
+        int[] governmentForm = ints(buffer, n);
+        int[] headOfState = ints(buffer, n);
+        int[] capital = ints(buffer, n);
+        List<Country> countries = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Country country = new Country();
+            country.setCode(string(strings, code[i]));
+            country.setName(string(strings, name[i]));
+            country.setContinent(string(strings, continent[i]));
+            country.setRegion(string(strings, region[i]));
+            country.setSurfaceArea(surfaceArea[i]);
+            country.setIndepYear(indepYear[i] == NULL_INT ? null : indepYear[i]);
+            country.setPopulation(population[i]);
+            country.setLifeExpectancy(Float.isNaN(lifeExpectancy[i]) ? null : lifeExpectancy[i]);
+            country.setGnp(gnp[i]);
+            country.setGnpOld(Float.isNaN(gnpOld[i]) ? null : gnpOld[i]);
+            country.setLocalName(string(strings, localName[i]));
+            country.setGovernmentForm(string(strings, governmentForm[i]));
+            country.setHeadOfState(string(strings, headOfState[i]));
+            country.setCapital(capital[i]);
+            countries.add(country);
+        }
+
+        // City columns
+        int m = buffer.getInt();
+        int[] id = ints(buffer, m);
+        int[] cityName = ints(buffer, m);
+        int[] countryCode = ints(buffer, m);
+        int[] district = ints(buffer, m);
+        int[] cityPopulation = ints(buffer, m);
+        List<City> cities = new ArrayList<>(m);
+        for (int i = 0; i < m; i++) {
+            City city = new City();
+            city.setId(id[i]);
+            city.setName(string(strings, cityName[i]));
+            city.setCountryCode(string(strings, countryCode[i]));
+            city.setDistrict(string(strings, district[i]));
+            city.setPopulation(cityPopulation[i]);
+            cities.add(city);
+        }
+
+        // Country language columns
+        int k = buffer.getInt();
+        int[] languageCountry = ints(buffer, k);
+        int[] language = ints(buffer, k);
+        float[] percentage = floats(buffer, k);
+        byte[] official = new byte[k];
+        buffer.get(official);
+        List<CountryLanguage> languages = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            CountryLanguage row = new CountryLanguage();
+            row.setCountryCode(string(strings, languageCountry[i]));
+            row.setLanguage(string(strings, language[i]));
+            row.setPercentage(percentage[i]);
+            row.setOfficial(official[i] != 0);
+            languages.add(row);
+        }
+
+        return new WorldSnapshot(countries, cities, languages);
+    }
+
+    /**
+     * Reads a column of ints in one bulk copy.
+     */
+    private static int[] ints(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * 4);
+        return values;
+    }
+
+    /**
+     * Reads a column of floats in one bulk copy.
+     */
+    private static float[] floats(ByteBuffer buffer, int count) {
+        float[] values = new float[count];
+        buffer.asFloatBuffer().get(values);
+        buffer.position(buffer.position() + count * 4);
+        return values;
+    }
+
+    /**
+     * Looks up a dictionary number.
+     */
+    private static String string(String[] strings, int number) {
+        return number == NULL_STRING ? null : strings[number];
+    }
+
+    /**
+     * Numbers distinct strings and stores them as UTF-8: the count, the
+     * end offset of each string, then all the bytes.
+     */
+    private static final class Dictionary {
+
+        // Number of each string.
+        private final Map<String, Integer> numbers = new HashMap<>();
+
+        // Strings in number order, encoded.
+        private final List<byte[]> encoded = new ArrayList<>();
+
+        // Total length of the encoded strings.
+        private int bytes;
+
+        /**
+         * Adds a string if it is not there yet; null is not stored.
+         */
+        void add(String s) {
+            if (s != null && !numbers.containsKey(s)) {
+                numbers.put(s, encoded.size());
+                byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                encoded.add(utf8);
+                bytes += utf8.length;
+            }
+        }
+
+        /**
+         * Get the number of a string added before.
+         */
+        int number(String s) {
+            return s == null ? NULL_STRING : numbers.get(s);
+        }
+
+        /**
+         * Get the number of bytes the dictionary takes in the file.
+         */
+        int size() {
+            return 4 + encoded.size() * 4 + bytes;
+        }
+
+        /**
+         * Writes the dictionary.
+         */
+        void write(ByteBuffer buffer) {
+            buffer.putInt(encoded.size());
+            int end = 0;
+            for (byte[] utf8 : encoded) {
+                end += utf8.length;
+                buffer.putInt(end);
+            }
+            for (byte[] utf8 : encoded) {
+                buffer.put(utf8);
+            }
+        }
+
+        /**
+         * Reads a dictionary written by {@link #write(ByteBuffer)}.
+         */
+        static String[] read(ByteBuffer buffer) {
+            int count = buffer.getInt();
+            int[] ends = ints(buffer, count);
+            int start = buffer.position();
+            byte[] all = new byte[count == 0 ? 0 : ends[count - 1]];
+            buffer.get(all);
+            String[] strings = new String[count];
+            int from = 0;
+            for (int i = 0; i < count; i++) {
+                strings[i] = new String(all, from, ends[i] - from, StandardCharsets.UTF_8);
+                from = ends[i];
+            }
+            assert buffer.position() == start + all.length;
+            return strings;
+        }
+    }
+}
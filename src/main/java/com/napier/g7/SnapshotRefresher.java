@@ -0,0 +1,362 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Keeps the snapshot of an App up to date with edits to the country, city
+ * and countrylanguage tables while the App runs.
+ * <p>
+ * Each pass asks MySQL for {@code CHECKSUM TABLE} of the three tables,
+ * which costs one round trip. For a table whose checksum changed, it reads
+ * a CRC32 of every row, compares them with those of the last pass and
+ * fetches only the rows that are new or changed; rows that are gone are
+ * dropped. If more than half of a table changed it is read in full instead.
+ * <p>
+ * A new snapshot is then built beside the one in use, rebuilding only the
+ * indexes the changed tables feed (see {@link WorldSnapshot#withCities} and
+ * {@link WorldSnapshot#withLanguages}), and published with a single
+ * reference swap. Readers never take a lock and see either the old or the
+ * new snapshot, never a mix. The first pass reads the tables in full, so a
+ * snapshot read from a snapshot file is brought up to date too.
+ */
+public class SnapshotRefresher implements AutoCloseable {
+
+    // Keys fetched per statement when only some rows changed.
+    private static final int FETCH_BATCH = 500;
+
+    // The application whose snapshot is kept up to date.
+    private final App app;
+
+    // The country table and what the last pass saw of it.
+    private final Table<Country> countries = new Table<>("country",
+            "SELECT Code, CRC32(CONCAT_WS('|', Name, Continent, Region, SurfaceArea, IFNULL(IndepYear, CHAR(0)), "
+                    + "Population, IFNULL(LifeExpectancy, CHAR(0)), GNP, IFNULL(GNPOld, CHAR(0)), LocalName, "
+                    + "GovernmentForm, IFNULL(HeadOfState, CHAR(0)), IFNULL(Capital, CHAR(0)))) FROM country",
+            WorldSnapshotLoader.COUNTRY_SELECT, "Code", CountryMapper.INSTANCE, country -> List.of(country.getCode()));
+
+    // The city table and what the last pass saw of it.
+    private final Table<City> cities = new Table<>("city",
+            "SELECT ID, CRC32(CONCAT_WS('|', Name, CountryCode, District, Population)) FROM city",
+            WorldSnapshotLoader.CITY_SELECT, "ID", CityMapper.TABLE, city -> List.of(city.getId()));
+
+    // The countrylanguage table and what the last pass saw of it.
+    private final Table<CountryLanguage> languages = new Table<>("countrylanguage",
+            "SELECT CountryCode, Language, CRC32(CONCAT_WS('|', IsOfficial, Percentage)) FROM countrylanguage",
+            WorldSnapshotLoader.LANGUAGE_SELECT, "(CountryCode, Language)", CountryLanguageMapper.INSTANCE,
+            language -> List.of(language.getCountryCode(), language.getLanguage()));
+
+    // Held while a pass runs, so passes never overlap.
+    private final Object passLock = new Object();
+
+    // Runs the passes in the background.
+    private ScheduledExecutorService scheduler;
+
+    // Whether close() has been called; a closed refresher never starts.
+    private boolean closed;
+
+    /**
+     * Creates a refresher for an App. It does nothing until {@link #start(long)}
+     * or {@link #refresh()} is called.
+     *
+     * @param app The application; it should be connected to the database.
+     */
+    public SnapshotRefresher(App app) {
+        this.app = app;
+    }
+
+    /**
+     * Runs a pass now and then at a fixed delay after each pass ends, on a
+     * background thread. Does nothing if the refresher is running or closed.
+     *
+     * @param intervalMillis The delay between passes.
+     */
+    public synchronized void start(long intervalMillis) {
+        if (scheduler != null || closed) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "snapshot-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops running passes. A pass in progress is finished first.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Runs one pass: finds the tables that changed, fetches their changed
+     * rows and publishes a new snapshot if anything changed. Failures are
+     * printed and leave the snapshot in use as it is.
+     *
+     * @return True if a new snapshot was published.
+     */
+    public boolean refresh() {
+        synchronized (passLock) {
+            return pass();
+        }
+    }
+
+    /**
+     * Runs one pass with the pass lock held.
+     */
+    private boolean pass() {
+        QueryMetrics m = app.getMetrics().get("refreshSnapshot");
+        long start = System.nanoTime();
+        try (Connection con = app.getPool().getConnection()) {
+            Map<String, Long> checksums = tableChecksums(con);
+            long fetched = 0;
+            boolean countriesChanged = countries.sync(con, checksums.get(countries.name));
+            fetched += countries.lastFetched;
+            boolean citiesChanged = cities.sync(con, checksums.get(cities.name));
+            fetched += cities.lastFetched;
+            boolean languagesChanged = languages.sync(con, checksums.get(languages.name));
+            fetched += languages.lastFetched;
+            if (!countriesChanged && !citiesChanged && !languagesChanged) {
+                m.recordRun(System.nanoTime() - start, 0);
+                return false;
+            }
+
+            // Rebuild only what the changed tables feed
+            WorldSnapshot current = app.getSnapshot();
+            WorldSnapshot next;
+            if (current == null || countriesChanged) {
+                next = new WorldSnapshot(countries.rows.values(), cities.rows.values(), languages.rows.values());
+            } else {
+                next = current;
+                if (citiesChanged) {
+                    next = next.withCities(cities.rows.values());
+                }
+                if (languagesChanged) {
+                    next = next.withLanguages(languages.rows.values());
+                }
+            }
+
+            // Publish with one reference swap; cached database results may be out of date now
+            app.useSnapshot(next);
+            app.getResultCache().invalidateAll();
+            m.recordRun(System.nanoTime() - start, fetched);
+            return true;
+        } catch (Exception e) {
+            m.recordError();
+            System.out.println(e.getMessage());
+            System.out.println("Failed to refresh world snapshot");
+            return false;
+        }
+    }
+
+    /**
+     * Reads the checksum of each world table, by table name.
+     */
+    private static Map<String, Long> tableChecksums(Connection con) throws SQLException {
+        Map<String, Long> checksums = new HashMap<>();
+        try (Statement stmt = con.createStatement();
+             ResultSet rset = stmt.executeQuery("CHECKSUM TABLE country, city, countrylanguage")) {
+            while (rset.next()) {
+                // Tables are named with their schema, such as world.city
+                String table = rset.getString(1);
+                long checksum = rset.getLong(2);
+                checksums.put(table.substring(table.lastIndexOf('.') + 1), rset.wasNull() ? null : checksum);
+            }
+        }
+        return checksums;
+    }
+
+    /**
+     * One world table: how to read it, and its rows and checksums as of the
+     * last pass. Used by the refresher's thread only.
+     */
+    private static final class Table<T> {
+
+        // Name of the table.
+        final String name;
+
+        // Selects the key columns and a CRC32 of the other columns of every row.
+        final String rowChecksumSelect;
+
+        // Selects every row.
+        final String select;
+
+        // The key columns, as written before IN.
+        final String keyColumns;
+
+        // Maps the selected rows.
+        final RowMapper<T> mapper;
+
+        // Gives the key of a row.
+        final Function<T, List<Object>> keyOf;
+
+        // Checksum of the whole table; null before the first pass.
+        Long tableChecksum;
+
+        // Checksum of each row by key; null before the first pass.
+        Map<List<Object>, Long> rowChecksums;
+
+        // Every row by key.
+        Map<List<Object>, T> rows = new HashMap<>();
+
+        // Rows fetched by the last pass.
+        long lastFetched;
+
+        Table(String name, String rowChecksumSelect, String select, String keyColumns, RowMapper<T> mapper,
+              Function<T, List<Object>> keyOf) {
+            this.name = name;
+            this.rowChecksumSelect = rowChecksumSelect;
+            this.select = select;
+            this.keyColumns = keyColumns;
+            this.mapper = mapper;
+            this.keyOf = keyOf;
+        }
+
+        /**
+         * Brings the rows up to date if the table checksum changed.
+         *
+         * @return True if any row was added, changed or removed.
+         */
+        boolean sync(Connection con, Long checksum) throws SQLException {
+            lastFetched = 0;
+            if (rowChecksums != null && checksum != null && checksum.equals(tableChecksum)) {
+                return false;
+            }
+
+            Map<List<Object>, Long> current = readRowChecksums(con);
+            if (rowChecksums == null) {
+                // First pass: nothing to compare with, so read everything
+                readAll(con);
+            } else {
+                List<List<Object>> changed = new ArrayList<>();
+                for (Map.Entry<List<Object>, Long> entry : current.entrySet()) {
+                    if (!entry.getValue().equals(rowChecksums.get(entry.getKey()))) {
+                        changed.add(entry.getKey());
+                    }
+                }
+                List<List<Object>> removed = new ArrayList<>();
+                for (List<Object> key : rowChecksums.keySet()) {
+                    if (!current.containsKey(key)) {
+                        removed.add(key);
+                    }
+                }
+                if (changed.isEmpty() && removed.isEmpty()) {
+                    tableChecksum = checksum;
+                    rowChecksums = current;
+                    return false;
+                }
+
+                if (changed.size() > current.size() / 2) {
+                    readAll(con);
+                } else {
+                    for (List<Object> key : removed) {
+                        rows.remove(key);
+                    }
+                    for (List<Object> key : changed) {
+                        rows.remove(key);
+                    }
+                    fetch(con, changed);
+                }
+            }
+            tableChecksum = checksum;
+            rowChecksums = current;
+            return true;
+        }
+
+        /**
+         * Reads the checksum of every row.
+         */
+        private Map<List<Object>, Long> readRowChecksums(Connection con) throws SQLException {
+            Map<List<Object>, Long> checksums = new HashMap<>();
+            try (Statement stmt = con.createStatement();
+                 ResultSet rset = stmt.executeQuery(rowChecksumSelect)) {
+                int keys = rset.getMetaData().getColumnCount() - 1;
+                while (rset.next()) {
+                    Object[] key = new Object[keys];
+                    for (int i = 0; i < keys; i++) {
+                        key[i] = rset.getObject(i + 1);
+                    }
+                    checksums.put(List.of(key), rset.getLong(keys + 1));
+                }
+            }
+            return checksums;
+        }
+
+        /**
+         * Replaces every row with those read from the table.
+         */
+        private void readAll(Connection con) throws SQLException {
+            Map<List<Object>, T> all = new HashMap<>();
+            try (Statement stmt = con.createStatement();
+                 ResultSet rset = stmt.executeQuery(select)) {
+                for (T row : mapper.mapAll(rset)) {
+                    all.put(keyOf.apply(row), row);
+                }
+            }
+            rows = all;
+            lastFetched = all.size();
+        }
+
+        /**
+         * Reads the rows with the given keys, a batch of keys per statement.
+         */
+        private void fetch(Connection con, List<List<Object>> keys) throws SQLException {
+            for (int from = 0; from < keys.size(); from += FETCH_BATCH) {
+                List<List<Object>> batch = keys.subList(from, Math.min(keys.size(), from + FETCH_BATCH));
+                int width = batch.get(0).size();
+
+                // Build "WHERE key IN (?, ?)" or "WHERE (k1, k2) IN ((?, ?), (?, ?))"
+                String placeholder = width == 1 ? "?" : "(" + String.join(", ", Collections.nCopies(width, "?")) + ")";
+                StringBuilder sql = new StringBuilder(select).append(" WHERE ").append(keyColumns).append(" IN (");
+                for (int i = 0; i < batch.size(); i++) {
+                    sql.append(i == 0 ? "" : ", ").append(placeholder);
+                }
+                sql.append(')');
+
+                try (PreparedStatement stmt = con.prepareStatement(sql.toString())) {
+                    int parameter = 1;
+                    for (List<Object> key : batch) {
+                        for (Object value : key) {
+                            stmt.setObject(parameter++, value);
+                        }
+                    }
+                    try (ResultSet rset = stmt.executeQuery()) {
+                        for (T row : mapper.mapAll(rset)) {
+                            rows.put(keyOf.apply(row), row);
+                            lastFetched++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives each distinct string a small number, counting up from 0, and keeps
+ * one copy of it. Rows that repeat the same value, such as the region of a
+ * country or the district of a city, can store the number instead of their
+ * own copy of the string.
+ * <p>
+ * A dictionary is filled by one thread and can then be read by any number.
+ */
+public class StringDictionary {
+
+    // Number of each string.
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    // Strings in number order.
+    private final List<String> strings = new ArrayList<>();
+
+    // Largest number of strings the dictionary may hold.
+    private final int capacity;
+
+    /**
+     * Creates an empty dictionary.
+     *
+     * @param capacity The largest number of strings it may hold, so that
+     *                 numbers fit the type the caller stores them in.
+     */
+    public StringDictionary(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get the number of a string, adding it if it is new.
+     *
+     * @param s The string; null is not stored and numbered -1.
+     * @return The number.
+     * @throws IllegalStateException If the dictionary is full.
+     */
+    public int add(String s) {
+        if (s == null) {
+            return -1;
+        }
+        Integer id = ids.get(s);
+        if (id == null) {
+            if (strings.size() == capacity) {
+                throw new IllegalStateException("Dictionary is full at " + capacity + " strings");
+            }
+            id = strings.size();
+            ids.put(s, id);
+            strings.add(s);
+        }
+        return id;
+    }
+
+    /**
+     * Get the number of a string without adding it.
+     *
+     * @param s The string.
+     * @return The number, or -1 if the string is not in the dictionary.
+     */
+    public int find(String s) {
+        Integer id = s == null ? null : ids.get(s);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Get the string with the given number.
+     *
+     * @param id The number; -1 for null.
+     * @return The string, or null for -1.
+     */
+    public String get(int id) {
+        return id < 0 ? null : strings.get(id);
+    }
+
+    /**
+     * Get the number of strings in the dictionary.
+     *
+     * @return The size.
+     */
+    public int size() {
+        return strings.size();
+    }
+}
@@ -0,0 +1,473 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Writes the country, city, capital city, population and language tables
+ * App prints.
+ * <p>
+ * The output is byte for byte what {@code String.format} and
+ * {@code println} produced for the same rows, but no String, Formatter or
+ * NumberFormat is created per row: text is padded and populations are
+ * grouped with commas straight into one reusable character buffer, which is
+ * encoded into one reusable byte buffer and written out in large chunks.
+ * A renderer is not thread safe; use one per thread.
+ */
+public final class TableRenderer {
+
+    // Header of the country table.
+    private static final String COUNTRY_HEADER = String.format("%-5s %-50s %-15s %-40s %-15s %-10s",
+            "Code", "Name", "Continent", "Region", "Population", "Capital");
+
+    // Header of the city table.
+    private static final String CITY_HEADER = String.format("%-40s %-40s %-30s %-15s",
+            "Name", "CountryName", "District", "Population");
+
+    // Header of the capital city table.
+    private static final String CAPITAL_HEADER = String.format("%-40s %-40s %-15s",
+            "Name", "Country", "Population");
+
+    // Header of the population table.
+    private static final String POPULATION_HEADER = String.format("%-40s %-20s %-20s %-10s %-20s %-10s",
+            "Name", "Population", "In Cities", "%", "Not In Cities", "%");
+
+    // Header of the language table.
+    private static final String LANGUAGE_HEADER = String.format("%-40s %-20s %-10s",
+            "Language", "Speakers", "% of World");
+
+    // Line separator println would write.
+    private static final String NEW_LINE = System.lineSeparator();
+
+    // Characters written but not yet encoded.
+    private final char[] chars = new char[16384];
+
+    // View of the character buffer handed to the encoder.
+    private final CharBuffer charView = CharBuffer.wrap(chars);
+
+    // Encoded bytes not yet written.
+    private final ByteBuffer bytes = ByteBuffer.allocate(65536);
+
+    // Scratch space for formatting numbers, right aligned.
+    private final char[] digits = new char[32];
+
+    // Number of characters in the character buffer.
+    private int length = 0;
+
+    // Where the table goes.
+    private OutputStream out;
+
+    // Encoder for the charset of the output.
+    private CharsetEncoder encoder;
+
+    /**
+     * Creates a renderer with no output; call {@link #setOutput(OutputStream)}
+     * before the first table is flushed.
+     */
+    public TableRenderer() {
+    }
+
+    /**
+     * Creates a renderer writing to the given stream.
+     *
+     * @param out The stream to write to.
+     * @throws IllegalArgumentException If the stream is null.
+     */
+    public TableRenderer(OutputStream out) {
+        this.out = checkOutput(out);
+        this.encoder = encoder(charset(out));
+    }
+
+    /**
+     * Sets where the table goes. Text is encoded in the charset of a
+     * PrintStream, or in the default charset for any other stream. Text
+     * written so far goes to the previous output.
+     *
+     * @param out The stream to write to.
+     * @throws IllegalArgumentException If the stream is null.
+     */
+    public void setOutput(OutputStream out) {
+        if (this.out == checkOutput(out)) {
+            return;
+        }
+        flush();
+        Charset charset = charset(out);
+        if (encoder == null || !encoder.charset().equals(charset)) {
+            encoder = encoder(charset);
+        }
+        this.out = out;
+    }
+
+    /**
+     * Writes the header of the country table.
+     */
+    public void countryHeader() {
+        text(COUNTRY_HEADER);
+        newLine();
+    }
+
+    /**
+     * Writes one row of the country table.
+     *
+     * @param country The country to write.
+     */
+    public void country(Country country) {
+        padded(country.getCode(), 5);
+        space();
+        padded(country.getName(), 50);
+        space();
+        padded(country.getContinent(), 15);
+        space();
+        padded(country.getRegion(), 40);
+        space();
+        grouped(country.getPopulation(), 15);
+        space();
+        plain(country.getCapital(), 10);
+        newLine();
+    }
+
+    /**
+     * Writes the header of the city table.
+     */
+    public void cityHeader() {
+        text(CITY_HEADER);
+        newLine();
+    }
+
+    /**
+     * Writes one row of the city table.
+     *
+     * @param city The city to write.
+     */
+    public void city(City city) {
+        padded(city.getName(), 40);
+        space();
+        padded(city.getCountryCode(), 40);
+        space();
+        padded(city.getDistrict(), 30);
+        space();
+        grouped(city.getPopulation(), 15);
+        newLine();
+    }
+
+    /**
+     * Writes the header of the capital city table.
+     */
+    public void capitalHeader() {
+        text(CAPITAL_HEADER);
+        newLine();
+    }
+
+    /**
+     * Writes one row of the capital city table.
+     *
+     * @param city The capital to write, with the country name in place of the country code.
+     */
+    public void capital(City city) {
+        padded(city.getName(), 40);
+        space();
+        padded(city.getCountryCode(), 40);
+        space();
+        grouped(city.getPopulation(), 15);
+        newLine();
+    }
+
+    /**
+     * Writes the header of the population table.
+     */
+    public void populationHeader() {
+        text(POPULATION_HEADER);
+        newLine();
+    }
+
+    /**
+     * Writes one row of the population table: the total population of a
+     * place, the people living in its cities and those who do not, with
+     * their shares of the total.
+     *
+     * @param node The place to write.
+     */
+    public void population(PopulationRollup.Node node) {
+        padded(node.getName() == null ? "World" : node.getName(), 40);
+        space();
+        grouped(node.getPopulation(), 20);
+        space();
+        grouped(node.getCityPopulation(), 20);
+        space();
+        percent(node.getCityPopulation(), node.getPopulation(), 10);
+        space();
+        grouped(node.getNonCityPopulation(), 20);
+        space();
+        percent(node.getNonCityPopulation(), node.getPopulation(), 10);
+        newLine();
+    }
+
+    /**
+     * Writes the header of the language table.
+     */
+    public void languageHeader() {
+        text(LANGUAGE_HEADER);
+        newLine();
+    }
+
+    /**
+     * Writes one row of the language table: how many people speak a
+     * language and what share of the world population they are.
+     *
+     * @param speakers The language to write.
+     */
+    public void language(LanguageSpeakers speakers) {
+        padded(speakers.getLanguage(), 40);
+        space();
+        grouped(speakers.getSpeakers(), 20);
+        space();
+        percent(Math.round(speakers.getWorldPercentage() * 100), 10);
+        newLine();
+    }
+
+    /**
+     * Writes everything buffered so far to the output and flushes it.
+     */
+    public void flush() {
+        if (out == null && length == 0) {
+            return;
+        }
+        encodeChars();
+        writeBytes();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a string as it is.
+     */
+    private void text(String s) {
+        int n = s.length();
+        int start = 0;
+        while (start < n) {
+            if (length == chars.length) {
+                encodeChars();
+            }
+            int count = Math.min(n - start, chars.length - length);
+            s.getChars(start, start + count, chars, length);
+            length += count;
+            start += count;
+        }
+    }
+
+    /**
+     * Writes a string left aligned in a column, like {@code %-<width>s}.
+     */
+    private void padded(String s, int width) {
+        if (s == null) {
+            s = "null";
+        }
+        text(s);
+        spaces(width - s.length());
+    }
+
+    /**
+     * Writes a number left aligned in a column, like {@code %-<width>s}.
+     */
+    private void plain(long value, int width) {
+        int start = format(value, false);
+        append(digits, start);
+        spaces(width - (digits.length - start));
+    }
+
+    /**
+     * Writes a number with thousands separators left aligned in a column,
+     * like {@code NumberFormat} for Locale.US followed by {@code %-<width>s}.
+     */
+    private void grouped(long value, int width) {
+        int start = format(value, true);
+        append(digits, start);
+        spaces(width - (digits.length - start));
+    }
+
+    /**
+     * Writes part as a percentage of whole with two decimals, like
+     * {@code %.2f%%}, left aligned in a column. A zero whole counts as 0%.
+     */
+    private void percent(long part, long whole, int width) {
+        long basisPoints = 0;
+        if (whole != 0) {
+            // Round half away from zero
+            long scaled = Math.abs(part) * 20000 / Math.abs(whole);
+            basisPoints = (scaled + 1) / 2;
+            if ((part < 0) != (whole < 0)) {
+                basisPoints = -basisPoints;
+            }
+        }
+        percent(basisPoints, width);
+    }
+
+    /**
+     * Writes a percentage given in hundredths of a percent with two
+     * decimals, like {@code %.2f%%}, left aligned in a column.
+     */
+    private void percent(long basisPoints, int width) {
+        int pos = digits.length;
+        digits[--pos] = '%';
+        long rest = Math.abs(basisPoints);
+        for (int i = 0; i < 2; i++) {
+            digits[--pos] = (char) ('0' + rest % 10);
+            rest /= 10;
+        }
+        digits[--pos] = '.';
+        do {
+            digits[--pos] = (char) ('0' + rest % 10);
+            rest /= 10;
+        } while (rest > 0);
+        if (basisPoints < 0) {
+            digits[--pos] = '-';
+        }
+        append(digits, pos);
+        spaces(width - (digits.length - pos));
+    }
+
+    /**
+     * Formats a number into the end of the digits buffer.
+     *
+     * @return The index of its first character.
+     */
+    private int format(long value, boolean grouping) {
+        int pos = digits.length;
+        long rest = Math.abs(value);
+        int written = 0;
+        do {
+            if (grouping && written > 0 && written % 3 == 0) {
+                digits[--pos] = ',';
+            }
+            digits[--pos] = (char) ('0' + rest % 10);
+            rest /= 10;
+            written++;
+        } while (rest > 0);
+        if (value < 0) {
+            digits[--pos] = '-';
+        }
+        return pos;
+    }
+
+    /**
+     * Copies characters from start to the end of the given array.
+     */
+    private void append(char[] source, int start) {
+        int n = source.length - start;
+        if (length + n > chars.length) {
+            encodeChars();
+        }
+        System.arraycopy(source, start, chars, length, n);
+        length += n;
+    }
+
+    /**
+     * Writes a single space.
+     */
+    private void space() {
+        spaces(1);
+    }
+
+    /**
+     * Writes the given number of spaces; nothing if it is not positive.
+     */
+    private void spaces(int count) {
+        while (count > 0) {
+            if (length == chars.length) {
+                encodeChars();
+            }
+            int n = Math.min(count, chars.length - length);
+            for (int i = 0; i < n; i++) {
+                chars[length++] = ' ';
+            }
+            count -= n;
+        }
+    }
+
+    /**
+     * Ends the current line.
+     */
+    private void newLine() {
+        text(NEW_LINE);
+    }
+
+    /**
+     * Encodes the character buffer into the byte buffer, writing the byte
+     * buffer out whenever it fills up.
+     */
+    private void encodeChars() {
+        if (out == null) {
+            throw new IllegalStateException("Table renderer has no output; call setOutput first");
+        }
+        charView.clear().limit(length);
+        while (true) {
+            CoderResult result = encoder.encode(charView, bytes, false);
+            if (result.isOverflow()) {
+                writeBytes();
+            } else {
+                break;
+            }
+        }
+        // Keep a trailing half of a surrogate pair for the next round
+        int left = charView.remaining();
+        System.arraycopy(chars, charView.position(), chars, 0, left);
+        length = left;
+    }
+
+    /**
+     * Writes the byte buffer to the output.
+     */
+    private void writeBytes() {
+        if (bytes.position() == 0) {
+            return;
+        }
+        try {
+            out.write(bytes.array(), 0, bytes.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Rejects a missing output.
+     */
+    private static OutputStream checkOutput(OutputStream out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Table renderer output must not be null");
+        }
+        return out;
+    }
+
+    /**
+     * Get the charset text is written to a stream in.
+     */
+    private static Charset charset(OutputStream out) {
+        return out instanceof PrintStream ? ((PrintStream) out).charset() : Charset.defaultCharset();
+    }
+
+    /**
+     * Creates an encoder that replaces what the charset cannot encode.
+     */
+    private static CharsetEncoder encoder(Charset charset) {
+        return charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+}
@@ -0,0 +1,682 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, in-memory copy of the world database.
+ * Countries and cities are sorted once by population in descending order and
+ * ranked within every {@link Scope}, so every listing and top N report can be
+ * answered without going back to MySQL.
+ * <p>
+ * The rows are read-only copies of the rows the snapshot was built from,
+ * shared by every caller: their setters throw
+ * {@link UnsupportedOperationException}. Names of continents, regions,
+ * countries and districts are matched exactly, case included, whereas the
+ * default collation of MySQL ignores case.
+ */
+public final class WorldSnapshot {
+
+    // Orders countries by population (largest first), then by code so ties are stable.
+    static final Comparator<Country> COUNTRY_ORDER =
+            Comparator.comparingInt(Country::getPopulation).reversed()
+                    .thenComparing(Country::getCode);
+
+    // Orders cities by population (largest first), then by ID so ties are stable.
+    static final Comparator<City> CITY_ORDER =
+            Comparator.comparingInt(City::getPopulation).reversed()
+                    .thenComparingInt(City::getId);
+
+    // All countries, ordered by population.
+    private final List<Country> countries;
+
+    // Countries keyed by their three letter code.
+    private final Map<String, Country> countriesByCode;
+
+    // Countries ranked by population within each scope.
+    private final Map<Scope, RankedIndex<Country>> countryRankings = new EnumMap<>(Scope.class);
+
+    // All cities with a known country, ordered by population.
+    private final List<City> cities;
+
+    // The same cities as reported by App, with the country name in place of the code.
+    private final List<City> cityRows;
+
+    // City rows ranked by population within each scope.
+    private final Map<Scope, RankedIndex<City>> cityRankings = new EnumMap<>(Scope.class);
+
+    // Position of each city in the city lists, indexed by city ID; -1 where there is no city.
+    private final int[] cityPositionById;
+
+    // Capital city rows ranked by population within the world, each continent and each region.
+    private final Map<Scope, RankedIndex<City>> capitalRankings = new EnumMap<>(Scope.class);
+
+    // Population totals of every place.
+    private final PopulationRollup populationRollup;
+
+    // All rows of the countrylanguage table.
+    private final List<CountryLanguage> languages;
+
+    // The languages spoken in each country, as primitive columns.
+    private final LanguageTable languageTable;
+
+    /**
+     * Builds a snapshot from the given rows. The rows are copied, so later
+     * changes to them do not affect the snapshot.
+     *
+     * @param countries All rows of the country table.
+     * @param cities    All rows of the city table.
+     */
+    public WorldSnapshot(Collection<Country> countries, Collection<City> cities) {
+        this(countries, cities, Collections.emptyList());
+    }
+
+    /**
+     * Builds a snapshot from the given rows, including the languages spoken
+     * in each country. The rows are copied, so later changes to them do not
+     * affect the snapshot.
+     *
+     * @param countries All rows of the country table.
+     * @param cities    All rows of the city table.
+     * @param languages All rows of the countrylanguage table.
+     */
+    public WorldSnapshot(Collection<Country> countries, Collection<City> cities,
+                         Collection<CountryLanguage> languages) {
+        this(countries, cities, languages, null);
+    }
+
+    /**
+     * Builds a snapshot, reusing a language table built for the same countries if one is given.
+     */
+    private WorldSnapshot(Collection<Country> countries, Collection<City> cities,
+                          Collection<CountryLanguage> languages, WorldSnapshot sameCountries) {
+        // Sort and index read-only copies of the countries; those of another snapshot are already read-only
+        ArrayList<Country> sortedCountries = new ArrayList<>(countries.size());
+        for (Country country : countries) {
+            sortedCountries.add(country instanceof ReadOnlyCountry ? country : new ReadOnlyCountry(country));
+        }
+        sortedCountries.sort(COUNTRY_ORDER);
+        this.countries = Collections.unmodifiableList(sortedCountries);
+
+        Map<String, Country> byCode = new HashMap<>();
+        for (Country country : sortedCountries) {
+            byCode.put(country.getCode(), country);
+        }
+        this.countriesByCode = Collections.unmodifiableMap(byCode);
+
+        countryRankings.put(Scope.WORLD, RankedIndex.whole(this.countries));
+        countryRankings.put(Scope.CONTINENT, RankedIndex.of(this.countries, Country::getContinent));
+        countryRankings.put(Scope.REGION, RankedIndex.of(this.countries, Country::getRegion));
+        countryRankings.put(Scope.COUNTRY, RankedIndex.of(this.countries, Country::getName));
+
+        // Sort cities, keeping only those whose country is known (as the SQL join does)
+        ArrayList<City> sortedCities = new ArrayList<>(cities.size());
+        for (City city : cities) {
+            if (byCode.containsKey(city.getCountryCode())) {
+                sortedCities.add(new ReadOnlyCity(city.getId(), city.getName(), city.getCountryCode(),
+                        city.getDistrict(), city.getPopulation()));
+            }
+        }
+        sortedCities.sort(CITY_ORDER);
+        this.cities = Collections.unmodifiableList(sortedCities);
+
+        // Build the rows App reports, which carry the country name
+        ArrayList<City> rows = new ArrayList<>(sortedCities.size());
+        Map<City, Country> countryOfRow = new HashMap<>();
+        for (City city : sortedCities) {
+            Country country = byCode.get(city.getCountryCode());
+            City row = new ReadOnlyCity(city.getId(), city.getName(), country.getName(),
+                    city.getDistrict(), city.getPopulation());
+            rows.add(row);
+            countryOfRow.put(row, country);
+        }
+        this.cityRows = Collections.unmodifiableList(rows);
+
+        cityRankings.put(Scope.WORLD, RankedIndex.whole(this.cityRows));
+        cityRankings.put(Scope.CONTINENT, RankedIndex.of(this.cityRows, row -> countryOfRow.get(row).getContinent()));
+        cityRankings.put(Scope.REGION, RankedIndex.of(this.cityRows, row -> countryOfRow.get(row).getRegion()));
+        cityRankings.put(Scope.COUNTRY, RankedIndex.of(this.cityRows, City::getCountryCode));
+        cityRankings.put(Scope.DISTRICT, RankedIndex.of(this.cityRows, City::getDistrict));
+
+        // Index cities by ID; IDs are small and dense, so a plain array will do
+        int maxId = -1;
+        for (City city : sortedCities) {
+            maxId = Math.max(maxId, city.getId());
+        }
+        this.cityPositionById = new int[maxId + 1];
+        Arrays.fill(cityPositionById, -1);
+        for (int i = 0; i < sortedCities.size(); i++) {
+            cityPositionById[sortedCities.get(i).getId()] = i;
+        }
+
+        // Resolve each country's capital and rank the capitals
+        ArrayList<City> capitals = new ArrayList<>();
+        for (Country country : sortedCountries) {
+            City capital = getCityRow(country.getCapital());
+            if (capital != null) {
+                capitals.add(capital);
+            }
+        }
+        capitals.sort(CITY_ORDER);
+        List<City> capitalRows = Collections.unmodifiableList(capitals);
+        capitalRankings.put(Scope.WORLD, RankedIndex.whole(capitalRows));
+        capitalRankings.put(Scope.CONTINENT, RankedIndex.of(capitalRows, row -> countryOfRow.get(row).getContinent()));
+        capitalRankings.put(Scope.REGION, RankedIndex.of(capitalRows, row -> countryOfRow.get(row).getRegion()));
+
+        this.populationRollup = new PopulationRollup(this.countries, this.cities);
+        if (sameCountries != null) {
+            this.languages = sameCountries.languages;
+            this.languageTable = sameCountries.languageTable;
+        } else {
+            this.languages = readOnly(languages);
+            this.languageTable = new LanguageTable(this.countries, this.languages);
+        }
+    }
+
+    /**
+     * Copies every index of a snapshot except the languages, which are
+     * replaced.
+     */
+    private WorldSnapshot(WorldSnapshot base, Collection<CountryLanguage> languages) {
+        this.countries = base.countries;
+        this.countriesByCode = base.countriesByCode;
+        this.countryRankings.putAll(base.countryRankings);
+        this.cities = base.cities;
+        this.cityRows = base.cityRows;
+        this.cityRankings.putAll(base.cityRankings);
+        this.cityPositionById = base.cityPositionById;
+        this.capitalRankings.putAll(base.capitalRankings);
+        this.populationRollup = base.populationRollup;
+        this.languages = readOnly(languages);
+        this.languageTable = new LanguageTable(this.countries, this.languages);
+    }
+
+    /**
+     * Builds a new version of this snapshot with other cities. The city
+     * indexes, the capitals and the population rollup are rebuilt; the
+     * language table is shared with this snapshot.
+     *
+     * @param cities All rows of the city table.
+     * @return The new snapshot; this one is not changed.
+     */
+    public WorldSnapshot withCities(Collection<City> cities) {
+        return new WorldSnapshot(countries, cities, languages, this);
+    }
+
+    /**
+     * Builds a new version of this snapshot with other country languages.
+     * Only the language table is rebuilt; every other index is shared with
+     * this snapshot.
+     *
+     * @param languages All rows of the countrylanguage table.
+     * @return The new snapshot; this one is not changed.
+     */
+    public WorldSnapshot withLanguages(Collection<CountryLanguage> languages) {
+        return new WorldSnapshot(this, languages);
+    }
+
+    /**
+     * Get every row of the countrylanguage table the snapshot was built from.
+     *
+     * @return An unmodifiable list of country languages.
+     */
+    public List<CountryLanguage> getLanguages() {
+        return languages;
+    }
+
+    /**
+     * Get the languages spoken in each country, for counting speakers.
+     *
+     * @return The language table; empty if no languages were loaded.
+     */
+    public LanguageTable getLanguageTable() {
+        return languageTable;
+    }
+
+    /**
+     * Get the population totals of every place, from the world down to
+     * single cities.
+     *
+     * @return The population rollup.
+     */
+    public PopulationRollup getPopulationRollup() {
+        return populationRollup;
+    }
+
+    /**
+     * Get all countries ordered by population in descending order.
+     *
+     * @return An unmodifiable list of countries.
+     */
+    public List<Country> getCountries() {
+        return countries;
+    }
+
+    /**
+     * Get a country by its code.
+     *
+     * @param code The three letter country code.
+     * @return The country, or null if there is no such country.
+     */
+    public Country getCountry(String code) {
+        return countriesByCode.get(code);
+    }
+
+    /**
+     * Get the countries of a continent ordered by population in descending order.
+     *
+     * @param continent The continent to filter countries.
+     * @return An unmodifiable list of countries, empty if the continent is unknown.
+     */
+    public List<Country> getCountriesByContinent(String continent) {
+        return getCountries(Scope.CONTINENT, continent);
+    }
+
+    /**
+     * Get the countries of a region ordered by population in descending order.
+     *
+     * @param region The region to filter countries.
+     * @return An unmodifiable list of countries, empty if the region is unknown.
+     */
+    public List<Country> getCountriesByRegion(String region) {
+        return getCountries(Scope.REGION, region);
+    }
+
+    /**
+     * Get the countries within a scope ordered by population in descending order.
+     *
+     * @param scope The scope; DISTRICT and CITY are not supported for countries.
+     * @param key   The name of the continent, region or country; ignored for WORLD.
+     * @return An unmodifiable list of countries, empty if the key is unknown.
+     */
+    public List<Country> getCountries(Scope scope, String key) {
+        return countryRanking(scope).get(scope == Scope.WORLD ? null : key);
+    }
+
+    /**
+     * Get the N most populated countries within a scope, in O(N).
+     *
+     * @param scope The scope; DISTRICT and CITY are not supported for countries.
+     * @param key   The name of the continent, region or country; ignored for WORLD.
+     * @param topN  How many countries to return at most.
+     * @return An unmodifiable list of countries ordered by population in descending order.
+     */
+    public List<Country> topCountries(Scope scope, String key, int topN) {
+        return countryRanking(scope).top(scope == Scope.WORLD ? null : key, topN);
+    }
+
+    /**
+     * Get the countries within a scope that follow a page, in O(log N + limit).
+     * The page is found by binary search on its last (population, code), so
+     * a late page costs the same as the first.
+     *
+     * @param scope The scope; DISTRICT and CITY are not supported for countries.
+     * @param key   The name of the continent, region or country; ignored for WORLD.
+     * @param after The token of the previous page, or null for the first page.
+     * @param limit How many countries to return at most.
+     * @return An unmodifiable view of at most limit countries ordered by population in descending order.
+     */
+    public List<Country> countriesAfter(Scope scope, String key, PageToken after, int limit) {
+        List<Country> ranked = getCountries(scope, key);
+        int from = after == null ? 0 : following(ranked, after.toCountry(), COUNTRY_ORDER);
+        return ranked.subList(from, from + Math.max(0, Math.min(limit, ranked.size() - from)));
+    }
+
+    /**
+     * Get all cities ordered by population in descending order.
+     * Each city carries its country code.
+     *
+     * @return An unmodifiable list of cities.
+     */
+    public List<City> getCities() {
+        return cities;
+    }
+
+    /**
+     * Get all cities ordered by population in descending order, in the form
+     * App reports them: the country name is stored in place of the country code.
+     *
+     * @return An unmodifiable list of city rows.
+     */
+    public List<City> getCityRows() {
+        return cityRows;
+    }
+
+    /**
+     * Get the cities of a continent ordered by population in descending order,
+     * in the form App reports them.
+     *
+     * @param continent The continent to filter cities.
+     * @return An unmodifiable list of city rows, empty if the continent is unknown.
+     */
+    public List<City> getCityRowsByContinent(String continent) {
+        return getCityRows(Scope.CONTINENT, continent);
+    }
+
+    /**
+     * Get the cities within a scope ordered by population in descending
+     * order, in the form App reports them.
+     *
+     * @param scope The scope; CITY is not supported.
+     * @param key   The name of the continent, region, country or district; ignored for WORLD.
+     * @return An unmodifiable list of city rows, empty if the key is unknown.
+     */
+    public List<City> getCityRows(Scope scope, String key) {
+        return cityRanking(scope).get(scope == Scope.WORLD ? null : key);
+    }
+
+    /**
+     * Get the N most populated cities within a scope, in O(N), in the form
+     * App reports them.
+     *
+     * @param scope The scope; CITY is not supported.
+     * @param key   The name of the continent, region, country or district; ignored for WORLD.
+     * @param topN  How many cities to return at most.
+     * @return An unmodifiable list of city rows ordered by population in descending order.
+     */
+    public List<City> topCityRows(Scope scope, String key, int topN) {
+        return cityRanking(scope).top(scope == Scope.WORLD ? null : key, topN);
+    }
+
+    /**
+     * Get the cities within a scope that follow a page, in O(log N + limit),
+     * in the form App reports them. The page is found by binary search on its
+     * last (population, ID), so a late page costs the same as the first.
+     *
+     * @param scope The scope; CITY is not supported.
+     * @param key   The name of the continent, region, country or district; ignored for WORLD.
+     * @param after The token of the previous page, or null for the first page.
+     * @param limit How many cities to return at most.
+     * @return An unmodifiable view of at most limit city rows ordered by population in descending order.
+     */
+    public List<City> cityRowsAfter(Scope scope, String key, PageToken after, int limit) {
+        List<City> ranked = getCityRows(scope, key);
+        int from = after == null ? 0 : following(ranked, after.toCity(), CITY_ORDER);
+        return ranked.subList(from, from + Math.max(0, Math.min(limit, ranked.size() - from)));
+    }
+
+    /**
+     * Get a city by its ID, in O(1).
+     *
+     * @param id The city ID.
+     * @return The city with its country code, or null if there is no such city.
+     */
+    public City getCity(int id) {
+        int position = id >= 0 && id < cityPositionById.length ? cityPositionById[id] : -1;
+        return position < 0 ? null : cities.get(position);
+    }
+
+    /**
+     * Get a city by its ID, in O(1), in the form App reports it.
+     *
+     * @param id The city ID.
+     * @return The city row, or null if there is no such city.
+     */
+    public City getCityRow(int id) {
+        int position = id >= 0 && id < cityPositionById.length ? cityPositionById[id] : -1;
+        return position < 0 ? null : cityRows.get(position);
+    }
+
+    /**
+     * Get the capital cities within a scope ordered by population in
+     * descending order, in the form App reports them.
+     *
+     * @param scope The scope; only WORLD, CONTINENT and REGION are supported.
+     * @param key   The name of the continent or region; ignored for WORLD.
+     * @return An unmodifiable list of city rows, empty if the key is unknown.
+     */
+    public List<City> getCapitalRows(Scope scope, String key) {
+        return capitalRanking(scope).get(scope == Scope.WORLD ? null : key);
+    }
+
+    /**
+     * Get the N most populated capital cities within a scope, in O(N), in
+     * the form App reports them.
+     *
+     * @param scope The scope; only WORLD, CONTINENT and REGION are supported.
+     * @param key   The name of the continent or region; ignored for WORLD.
+     * @param topN  How many capitals to return at most.
+     * @return An unmodifiable list of city rows ordered by population in descending order.
+     */
+    public List<City> topCapitalRows(Scope scope, String key, int topN) {
+        return capitalRanking(scope).top(scope == Scope.WORLD ? null : key, topN);
+    }
+
+    /**
+     * Copies country languages into an unmodifiable list of read-only rows.
+     */
+    private static List<CountryLanguage> readOnly(Collection<CountryLanguage> languages) {
+        ArrayList<CountryLanguage> copies = new ArrayList<>(languages.size());
+        for (CountryLanguage language : languages) {
+            copies.add(new ReadOnlyLanguage(language));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * Finds the position of the first row ranked after the given one, which
+     * need not be in the list any more.
+     */
+    private static <T> int following(List<T> ranked, T last, Comparator<? super T> order) {
+        int position = Collections.binarySearch(ranked, last, order);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    /**
+     * Get the capital ranking of a scope.
+     */
+    private RankedIndex<City> capitalRanking(Scope scope) {
+        RankedIndex<City> ranking = capitalRankings.get(scope);
+        if (ranking == null) {
+            throw new IllegalArgumentException("Capital cities cannot be ranked by " + scope);
+        }
+        return ranking;
+    }
+
+    /**
+     * Get the country ranking of a scope.
+     */
+    private RankedIndex<Country> countryRanking(Scope scope) {
+        RankedIndex<Country> ranking = countryRankings.get(scope);
+        if (ranking == null) {
+            throw new IllegalArgumentException("Countries cannot be ranked by " + scope);
+        }
+        return ranking;
+    }
+
+    /**
+     * Get the city ranking of a scope.
+     */
+    private RankedIndex<City> cityRanking(Scope scope) {
+        RankedIndex<City> ranking = cityRankings.get(scope);
+        if (ranking == null) {
+            throw new IllegalArgumentException("Cities cannot be ranked by " + scope);
+        }
+        return ranking;
+    }
+
+    /**
+     * A country of a snapshot; its fields are set once, on copying.
+     */
+    private static final class ReadOnlyCountry extends Country {
+
+        ReadOnlyCountry(Country country) {
+            super.setCode(country.getCode());
+            super.setName(country.getName());
+            super.setContinent(country.getContinent());
+            super.setRegion(country.getRegion());
+            super.setSurfaceArea(country.getSurfaceArea());
+            super.setIndepYear(country.getIndepYear());
+            super.setPopulation(country.getPopulation());
+            super.setLifeExpectancy(country.getLifeExpectancy());
+            super.setGnp(country.getGnp());
+            super.setGnpOld(country.getGnpOld());
+            super.setLocalName(country.getLocalName());
+            super.setGovernmentForm(country.getGovernmentForm());
+            super.setHeadOfState(country.getHeadOfState());
+            super.setCapital(country.getCapital());
+        }
+
+        @Override
+        public void setCode(String code) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setName(String name) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setContinent(String continent) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setRegion(String region) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setSurfaceArea(float surfaceArea) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setIndepYear(Integer indepYear) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setPopulation(int population) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setLifeExpectancy(Float lifeExpectancy) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setGnp(float gnp) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setGnpOld(Float gnpOld) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setLocalName(String localName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setGovernmentForm(String governmentForm) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setHeadOfState(String headOfState) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setCapital(int capital) {
+            throw readOnly();
+        }
+    }
+
+    /**
+     * A city of a snapshot, with either its country code or its country
+     * name; its fields are set once, on copying.
+     */
+    private static final class ReadOnlyCity extends City {
+
+        ReadOnlyCity(int id, String name, String countryCode, String district, int population) {
+            super.setId(id);
+            super.setName(name);
+            super.setCountryCode(countryCode);
+            super.setDistrict(district);
+            super.setPopulation(population);
+        }
+
+        @Override
+        public void setId(int id) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setName(String name) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setCountryCode(String countryCode) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setDistrict(String district) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setPopulation(int population) {
+            throw readOnly();
+        }
+    }
+
+    /**
+     * A country language of a snapshot; its fields are set once, on copying.
+     */
+    private static final class ReadOnlyLanguage extends CountryLanguage {
+
+        ReadOnlyLanguage(CountryLanguage language) {
+            super.setCountryCode(language.getCountryCode());
+            super.setLanguage(language.getLanguage());
+            super.setOfficial(language.isOfficial());
+            super.setPercentage(language.getPercentage());
+        }
+
+        @Override
+        public void setCountryCode(String countryCode) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setLanguage(String language) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setOfficial(boolean official) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setPercentage(float percentage) {
+            throw readOnly();
+        }
+    }
+
+    /**
+     * Get the error thrown by the setters of a snapshot row.
+     */
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Rows of a world snapshot are read-only");
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+
+/**
+ * Reads the country, city and countrylanguage tables once and builds a
+ * {@link WorldSnapshot} from them.
+ */
+public class WorldSnapshotLoader {
+
+    // Reads every row of the country table.
+    static final String COUNTRY_SELECT =
+            "SELECT code, name, continent, region, surfaceArea, indepYear, " +
+                    "population, lifeExpectancy, gnp, gnpOld, localName, " +
+                    "governmentForm, headOfState, capital " +
+                    "FROM country";
+
+    // Reads every row of the city table.
+    static final String CITY_SELECT = "SELECT ID, Name, CountryCode, District, Population FROM city";
+
+    // Reads every row of the countrylanguage table.
+    static final String LANGUAGE_SELECT = "SELECT CountryCode, Language, IsOfficial, Percentage FROM countrylanguage";
+
+    // Where the time of each table read is recorded.
+    private final MetricsRegistry metrics;
+
+    /**
+     * Creates a loader that keeps its timings to itself.
+     */
+    public WorldSnapshotLoader() {
+        this(new MetricsRegistry());
+    }
+
+    /**
+     * Creates a loader that records the time of each table read.
+     *
+     * @param metrics The registry to record into.
+     */
+    public WorldSnapshotLoader(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Loads every country, city and country language from the database.
+     *
+     * @param con An open connection to the world database.
+     * @return A snapshot of the country, city and countrylanguage tables.
+     * @throws SQLException If any of the tables cannot be read.
+     */
+    public WorldSnapshot load(Connection con) throws SQLException {
+        return new WorldSnapshot(loadCountries(con), loadCities(con), loadLanguages(con));
+    }
+
+    /**
+     * Reads all rows of the country table, in no particular order.
+     */
+    private ArrayList<Country> loadCountries(Connection con) throws SQLException {
+        return read(con, "loadCountries", COUNTRY_SELECT, CountryMapper.INSTANCE);
+    }
+
+    /**
+     * Reads all rows of the city table, in no particular order.
+     */
+    private ArrayList<City> loadCities(Connection con) throws SQLException {
+        return read(con, "loadCities", CITY_SELECT, CityMapper.TABLE);
+    }
+
+    /**
+     * Reads all rows of the countrylanguage table, in no particular order.
+     */
+    private ArrayList<CountryLanguage> loadLanguages(Connection con) throws SQLException {
+        return read(con, "loadLanguages", LANGUAGE_SELECT, CountryLanguageMapper.INSTANCE);
+    }
+
+    /**
+     * Runs a query and maps its rows, recording the time under the given name.
+     */
+    private <T> ArrayList<T> read(Connection con, String name, String strSelect, RowMapper<T> mapper)
+            throws SQLException {
+        QueryMetrics m = metrics.get(name);
+        long start = System.nanoTime();
+        try (Statement stmt = con.createStatement();
+             ResultSet rset = stmt.executeQuery(strSelect)) {
+            m.recordExecute(System.nanoTime() - start);
+            ArrayList<T> rows = mapper.mapAll(rset, m);
+            m.recordRun(System.nanoTime() - start, rows.size());
+            return rows;
+        } catch (SQLException e) {
+            m.recordError();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,633 @@
+/**
+ * @author Htoo Myat Linn, Kyaw Ko Ko San, Bhone Myat, Wai Yan Moe, Zayar Phyo, Pyae Sone
+ * @version 0.1-alpha-3
+ * @since 2026-10-17
+ */
+package com.napier.g7;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the country, city and countrylanguage tables from a mysqldump file,
+ * such as db/test_db/world.sql, without a database.
+ * <p>
+ * The file is read in one pass through a fixed-size buffer, so it never has
+ * to fit in memory. {@code CREATE TABLE} statements give the column order
+ * of each table; {@code INSERT INTO ... VALUES} statements, with one row or
+ * many, give the rows, which are mapped to the model by column name.
+ * Comments and every other statement are skipped.
+ */
+public class WorldSqlParser {
+
+    // Size of the read buffer, in characters.
+    private static final int BUFFER_SIZE = 65536;
+
+    // Column order of each table, for dumps without CREATE TABLE statements.
+    private static final Map<String, List<String>> DEFAULT_COLUMNS = Map.of(
+            "country", List.of("code", "name", "continent", "region", "surfacearea", "indepyear", "population",
+                    "lifeexpectancy", "gnp", "gnpold", "localname", "governmentform", "headofstate", "capital", "code2"),
+            "city", List.of("id", "name", "countrycode", "district", "population"),
+            "countrylanguage", List.of("countrycode", "language", "isofficial", "percentage"));
+
+    // Words that start a key or constraint rather than a column in CREATE TABLE.
+    private static final Set<String> NOT_COLUMNS = Set.of(
+            "PRIMARY", "KEY", "UNIQUE", "INDEX", "CONSTRAINT", "FOREIGN", "FULLTEXT", "SPATIAL", "CHECK");
+
+    // Countries read so far.
+    private final ArrayList<Country> countries = new ArrayList<>();
+
+    // Cities read so far.
+    private final ArrayList<City> cities = new ArrayList<>();
+
+    // Country languages read so far.
+    private final ArrayList<CountryLanguage> languages = new ArrayList<>();
+
+    // Column order of each table declared so far, in lower case.
+    private final Map<String, List<String>> tableColumns = new HashMap<>();
+
+    // Characters read but not yet parsed.
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    // Scratch space for the current token.
+    private final StringBuilder token = new StringBuilder();
+
+    // Where the characters come from.
+    private Reader in;
+
+    // Position of the next character in the buffer.
+    private int pos;
+
+    // Number of characters in the buffer.
+    private int limit;
+
+    // Line of the next character, for error messages.
+    private int line = 1;
+
+    /**
+     * Reads a dump file and builds a snapshot of its world tables.
+     *
+     * @param path The dump file, in UTF-8.
+     * @return A snapshot of the country, city and countrylanguage tables.
+     * @throws IOException If the file cannot be read or is not a valid dump.
+     */
+    public static WorldSnapshot load(Path path) throws IOException {
+        WorldSqlParser parser = new WorldSqlParser();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            parser.parse(reader);
+        }
+        return parser.toSnapshot();
+    }
+
+    /**
+     * Reads every statement from a dump. Rows are added to those read by
+     * earlier calls.
+     *
+     * @param reader The dump; it is read to the end but not closed.
+     * @throws IOException If the dump cannot be read or is not valid.
+     */
+    public void parse(Reader reader) throws IOException {
+        in = reader;
+        pos = 0;
+        limit = 0;
+        line = 1;
+        while (true) {
+            skipBlank();
+            if (peek(0) < 0) {
+                break;
+            }
+            String keyword = word();
+            if (keyword.equals("CREATE")) {
+                skipBlank();
+                if (word().equals("TABLE")) {
+                    createTable();
+                } else {
+                    skipStatement();
+                }
+            } else if (keyword.equals("INSERT")) {
+                insert();
+            } else {
+                skipStatement();
+            }
+        }
+        in = null;
+    }
+
+    /**
+     * Get the countries read so far.
+     *
+     * @return The countries, in file order.
+     */
+    public ArrayList<Country> getCountries() {
+        return countries;
+    }
+
+    /**
+     * Get the cities read so far.
+     *
+     * @return The cities, in file order, each with its country code.
+     */
+    public ArrayList<City> getCities() {
+        return cities;
+    }
+
+    /**
+     * Get the country languages read so far.
+     *
+     * @return The country languages, in file order.
+     */
+    public ArrayList<CountryLanguage> getLanguages() {
+        return languages;
+    }
+
+    /**
+     * Builds a snapshot of the rows read so far.
+     *
+     * @return A snapshot of the country, city and countrylanguage tables.
+     */
+    public WorldSnapshot toSnapshot() {
+        return new WorldSnapshot(countries, cities, languages);
+    }
+
+    /**
+     * Parses the rest of a CREATE TABLE statement, keeping its column names.
+     */
+    private void createTable() throws IOException {
+        skipBlank();
+        String table = identifier();
+        if (table.equals("IF")) {
+            // IF NOT EXISTS
+            skipBlank();
+            word();
+            skipBlank();
+            word();
+            skipBlank();
+            table = identifier();
+        }
+        skipBlank();
+        expect('(');
+
+        List<String> columns = new ArrayList<>();
+        while (true) {
+            skipBlank();
+            boolean quoted = peek(0) == '`';
+            String name = identifier();
+            if (quoted || !NOT_COLUMNS.contains(name.toUpperCase(Locale.ROOT))) {
+                columns.add(name.toLowerCase(Locale.ROOT));
+            }
+            // Skip the type and options, up to the comma or parenthesis closing the definition
+            int end = skipTo(true);
+            if (end == ')') {
+                break;
+            }
+            if (end < 0) {
+                throw error("unexpected end of file in CREATE TABLE " + table);
+            }
+        }
+        tableColumns.put(table.toLowerCase(Locale.ROOT), columns);
+        skipStatement();
+    }
+
+    /**
+     * Parses the rest of an INSERT statement, turning each row of a world
+     * table into a model object. Rows of other tables are skipped.
+     */
+    private void insert() throws IOException {
+        // Skip modifiers such as IGNORE, up to INTO
+        skipBlank();
+        String modifier;
+        while (!(modifier = word()).equals("INTO")) {
+            if (modifier.isEmpty()) {
+                throw error("INSERT without INTO");
+            }
+            skipBlank();
+        }
+        skipBlank();
+        String table = identifier().toLowerCase(Locale.ROOT);
+
+        // Take the column list if there is one, else the declared order
+        skipBlank();
+        List<String> columns = tableColumns.getOrDefault(table, DEFAULT_COLUMNS.get(table));
+        if (peek(0) == '(') {
+            read();
+            columns = new ArrayList<>();
+            while (true) {
+                skipBlank();
+                columns.add(identifier().toLowerCase(Locale.ROOT));
+                skipBlank();
+                if (read() == ')') {
+                    break;
+                }
+            }
+            skipBlank();
+        }
+        String values = word();
+        if (!values.equals("VALUES") && !values.equals("VALUE")) {
+            // INSERT ... SELECT or SET; nothing to read
+            skipStatement();
+            return;
+        }
+        RowMapping mapping = columns == null ? null : mapping(table, columns);
+        if (mapping == null) {
+            skipStatement();
+            return;
+        }
+
+        String[] row = new String[columns.size()];
+        while (true) {
+            skipBlank();
+            expect('(');
+            int count = 0;
+            while (true) {
+                skipBlank();
+                String value = value();
+                if (count < row.length) {
+                    row[count] = value;
+                }
+                count++;
+                skipBlank();
+                int c = read();
+                if (c == ')') {
+                    break;
+                }
+                if (c != ',') {
+                    throw error("expected ',' or ')' in a row of " + table);
+                }
+            }
+            if (count != row.length) {
+                throw error("row of " + table + " has " + count + " values for " + row.length + " columns");
+            }
+            mapping.add(row);
+
+            skipBlank();
+            int c = read();
+            if (c == ';' || c < 0) {
+                return;
+            }
+            if (c != ',') {
+                throw error("expected ',' or ';' after a row of " + table);
+            }
+        }
+    }
+
+    /**
+     * Builds the mapping from rows of a table to model objects.
+     *
+     * @return The mapping, or null if the table is not a world table.
+     */
+    private RowMapping mapping(String table, List<String> columns) {
+        switch (table) {
+            case "country": {
+                int[] c = positions(columns, "code", "name", "continent", "region", "surfacearea", "indepyear",
+                        "population", "lifeexpectancy", "gnp", "gnpold", "localname", "governmentform",
+                        "headofstate", "capital");
+                return row -> {
+                    Country country = new Country();
+                    country.setCode(text(row, c[0]));
+                    country.setName(text(row, c[1]));
+                    country.setContinent(text(row, c[2]));
+                    country.setRegion(text(row, c[3]));
+                    country.setSurfaceArea(floatValue(row, c[4]));
+                    country.setIndepYear(nullableInt(row, c[5]));
+                    country.setPopulation(intValue(row, c[6]));
+                    country.setLifeExpectancy(nullableFloat(row, c[7]));
+                    country.setGnp(floatValue(row, c[8]));
+                    country.setGnpOld(nullableFloat(row, c[9]));
+                    country.setLocalName(text(row, c[10]));
+                    country.setGovernmentForm(text(row, c[11]));
+                    country.setHeadOfState(text(row, c[12]));
+                    country.setCapital(intValue(row, c[13]));
+                    countries.add(country);
+                };
+            }
+            case "city": {
+                int[] c = positions(columns, "id", "name", "countrycode", "district", "population");
+                return row -> {
+                    City city = new City();
+                    city.setId(intValue(row, c[0]));
+                    city.setName(text(row, c[1]));
+                    city.setCountryCode(text(row, c[2]));
+                    city.setDistrict(text(row, c[3]));
+                    city.setPopulation(intValue(row, c[4]));
+                    cities.add(city);
+                };
+            }
+            case "countrylanguage": {
+                int[] c = positions(columns, "countrycode", "language", "isofficial", "percentage");
+                return row -> {
+                    CountryLanguage language = new CountryLanguage();
+                    language.setCountryCode(text(row, c[0]));
+                    language.setLanguage(text(row, c[1]));
+                    language.setOfficial("T".equals(text(row, c[2])));
+                    language.setPercentage(floatValue(row, c[3]));
+                    languages.add(language);
+                };
+            }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Finds where each wanted column is in a row; -1 for missing columns.
+     */
+    private static int[] positions(List<String> columns, String... wanted) {
+        int[] positions = new int[wanted.length];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < wanted.length; i++) {
+            positions[i] = columns.indexOf(wanted[i]);
+        }
+        return positions;
+    }
+
+    /**
+     * Get a text value; null if the column is missing or NULL.
+     */
+    private static String text(String[] row, int column) {
+        return column < 0 ? null : row[column];
+    }
+
+    /**
+     * Get an int value; 0 if the column is missing or NULL.
+     */
+    private static int intValue(String[] row, int column) {
+        String value = text(row, column);
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+
+    /**
+     * Get an int value; null if the column is missing or NULL.
+     */
+    private static Integer nullableInt(String[] row, int column) {
+        String value = text(row, column);
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    /**
+     * Get a float value; 0 if the column is missing or NULL.
+     */
+    private static float floatValue(String[] row, int column) {
+        String value = text(row, column);
+        return value == null ? 0 : Float.parseFloat(value);
+    }
+
+    /**
+     * Get a float value; null if the column is missing or NULL.
+     */
+    private static Float nullableFloat(String[] row, int column) {
+        String value = text(row, column);
+        return value == null ? null : Float.valueOf(value);
+    }
+
+    /**
+     * Reads one value of a row: a quoted string, NULL, or a number or other
+     * bare word.
+     *
+     * @return The value, unescaped; null for NULL.
+     */
+    private String value() throws IOException {
+        token.setLength(0);
+        int c = peek(0);
+        if (c == '\'' || c == '"') {
+            quoted(read(), true);
+            return token.toString();
+        }
+        while ((c = peek(0)) >= 0 && c != ',' && c != ')' && !Character.isWhitespace(c)) {
+            token.append((char) read());
+        }
+        if (token.length() == 0) {
+            throw error("missing value");
+        }
+        String value = token.toString();
+        return value.equalsIgnoreCase("NULL") ? null : value;
+    }
+
+    /**
+     * Reads a quoted string after its opening quote, up to the closing
+     * quote. A doubled quote stands for itself; a backslash escapes the
+     * next character.
+     *
+     * @param quote The quote character.
+     * @param keep  Whether to append the unescaped text to the token.
+     */
+    private void quoted(int quote, boolean keep) throws IOException {
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw error("unterminated string");
+            }
+            if (c == '\\') {
+                c = read();
+                if (c < 0) {
+                    throw error("unterminated string");
+                }
+                switch (c) {
+                    case 'n': c = '\n'; break;
+                    case 'r': c = '\r'; break;
+                    case 't': c = '\t'; break;
+                    case '0': c = '\0'; break;
+                    case 'Z': c = 26; break;
+                    default: break;
+                }
+            } else if (c == quote) {
+                if (peek(0) != quote) {
+                    return;
+                }
+                read();
+            }
+            if (keep) {
+                token.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Reads a name: a backquoted identifier or a bare word.
+     */
+    private String identifier() throws IOException {
+        if (peek(0) == '`') {
+            read();
+            token.setLength(0);
+            int c;
+            while ((c = read()) != '`') {
+                if (c < 0) {
+                    throw error("unterminated identifier");
+                }
+                token.append((char) c);
+            }
+            return token.toString();
+        }
+        String word = wordAsIs();
+        if (word.isEmpty()) {
+            throw error("expected a name");
+        }
+        return word;
+    }
+
+    /**
+     * Reads a bare word in upper case; empty if the next character does not start one.
+     */
+    private String word() throws IOException {
+        return wordAsIs().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Reads a bare word as it is written.
+     */
+    private String wordAsIs() throws IOException {
+        token.setLength(0);
+        int c;
+        while ((c = peek(0)) >= 0 && (Character.isLetterOrDigit(c) || c == '_' || c == '$')) {
+            token.append((char) read());
+        }
+        return token.toString();
+    }
+
+    /**
+     * Skips whitespace and comments.
+     */
+    private void skipBlank() throws IOException {
+        while (true) {
+            int c = peek(0);
+            if (c < 0) {
+                return;
+            }
+            if (Character.isWhitespace(c)) {
+                read();
+            } else if (c == '#' || (c == '-' && peek(1) == '-')) {
+                while ((c = read()) >= 0 && c != '\n') {
+                    // Skip to the end of the line
+                }
+            } else if (c == '/' && peek(1) == '*') {
+                read();
+                read();
+                while ((c = read()) >= 0 && !(c == '*' && peek(0) == '/')) {
+                    // Skip to the end of the comment
+                }
+                read();
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skips to the end of the current statement, past its semicolon.
+     */
+    private void skipStatement() throws IOException {
+        skipTo(false);
+        if (peek(0) == ';') {
+            read();
+        }
+    }
+
+    /**
+     * Skips characters, strings and nested parentheses until a character
+     * that ends the current part at the top level.
+     *
+     * @param inList True to stop after a comma or closing parenthesis,
+     *               false to stop before a semicolon.
+     * @return The character that ended the part, or -1 at the end of the file.
+     */
+    private int skipTo(boolean inList) throws IOException {
+        int depth = 0;
+        while (true) {
+            int c = peek(0);
+            if (c < 0) {
+                return -1;
+            }
+            if (!inList && c == ';' && depth == 0) {
+                return c;
+            }
+            read();
+            if (c == '\'' || c == '"' || c == '`') {
+                quoted(c, false);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (depth == 0 && inList) {
+                    return c;
+                }
+                depth--;
+            } else if (c == ',' && depth == 0 && inList) {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Reads the next character, which must be the given one.
+     */
+    private void expect(char expected) throws IOException {
+        if (read() != expected) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    /**
+     * Reads the next character.
+     *
+     * @return The character, or -1 at the end of the file.
+     */
+    private int read() throws IOException {
+        int c = peek(0);
+        if (c >= 0) {
+            pos++;
+            if (c == '\n') {
+                line++;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Looks at a character ahead without reading it, refilling the buffer
+     * as needed.
+     *
+     * @param offset How far ahead; 0 for the next character.
+     * @return The character, or -1 if the file ends before it.
+     */
+    private int peek(int offset) throws IOException {
+        while (pos + offset >= limit) {
+            // Keep the unread characters and fill up the rest of the buffer
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+            int n = in.read(buffer, limit, buffer.length - limit);
+            if (n < 0) {
+                return -1;
+            }
+            limit += n;
+        }
+        return buffer[pos + offset];
+    }
+
+    /**
+     * Builds an exception for a syntax error at the current line.
+     */
+    private IOException error(String message) {
+        return new IOException("Line " + line + ": " + message);
+    }
+
+    /**
+     * Turns the values of one row into a model object.
+     */
+    @FunctionalInterface
+    private interface RowMapping {
+
+        /**
+         * Adds the object of one row.
+         */
+        void add(String[] row);
+    }
+}